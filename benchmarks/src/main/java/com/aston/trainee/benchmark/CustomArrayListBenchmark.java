@@ -0,0 +1,135 @@
+package com.aston.trainee.benchmark;
+
+import com.aston.trainee.CustomArrayList;
+import com.aston.trainee.CustomArrayListImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки основных операций CustomArrayListImpl в сравнении с java.util.ArrayList.
+ * Методы с префиксом custom измеряют CustomArrayListImpl, с префиксом jdk - ArrayList.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Thread)
+public class CustomArrayListBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    private Integer[] values;
+
+    private CustomArrayList<Integer> customList;
+
+    private List<Integer> jdkList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] data = InputShape.RANDOM.generate(size);
+        values = new Integer[size];
+        customList = new CustomArrayListImpl<>();
+        jdkList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values[i] = data[i];
+            customList.add(values[i]);
+            jdkList.add(values[i]);
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> customAdd() {
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public List<Integer> jdkAdd() {
+        List<Integer> list = new ArrayList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    /**
+     * Вставка и удаление в середине списка: размер списка не меняется между вызовами,
+     * а стоимость операции определяется сдвигом хвоста.
+     */
+    @Benchmark
+    public Integer customAddAndRemoveInMiddle() {
+        int middle = customList.size() / 2;
+        customList.add(middle, values[0]);
+        return customList.remove(middle);
+    }
+
+    @Benchmark
+    public Integer jdkAddAndRemoveInMiddle() {
+        int middle = jdkList.size() / 2;
+        jdkList.add(middle, values[0]);
+        return jdkList.remove(middle);
+    }
+
+    @Benchmark
+    public void customGet(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(customList.get(i));
+        }
+    }
+
+    @Benchmark
+    public void jdkGet(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(jdkList.get(i));
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> customSet() {
+        for (int i = 0; i < size; i++) {
+            customList.set(i, values[size - i - 1]);
+        }
+        return customList;
+    }
+
+    @Benchmark
+    public List<Integer> jdkSet() {
+        for (int i = 0; i < size; i++) {
+            jdkList.set(i, values[size - i - 1]);
+        }
+        return jdkList;
+    }
+
+    @Benchmark
+    public Object[] customToArray() {
+        return customList.toArray();
+    }
+
+    @Benchmark
+    public Object[] jdkToArray() {
+        return jdkList.toArray();
+    }
+}
@@ -0,0 +1,102 @@
+package com.aston.trainee.benchmark;
+
+import java.util.Random;
+
+/**
+ * Форма входных данных для бенчмарков сортировки. Каждая форма генерирует
+ * массив целых чисел заданного размера с фиксированным зерном генератора,
+ * чтобы результаты разных запусков были сопоставимы.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public enum InputShape {
+
+    /**
+     * Случайные значения.
+     */
+    RANDOM {
+        @Override
+        int[] generate(int size, Random random) {
+            int[] data = new int[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = random.nextInt();
+            }
+            return data;
+        }
+    },
+
+    /**
+     * Уже отсортированные по возрастанию значения.
+     */
+    SORTED {
+        @Override
+        int[] generate(int size, Random random) {
+            int[] data = new int[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = i;
+            }
+            return data;
+        }
+    },
+
+    /**
+     * Значения, отсортированные по убыванию.
+     */
+    REVERSED {
+        @Override
+        int[] generate(int size, Random random) {
+            int[] data = new int[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = size - i;
+            }
+            return data;
+        }
+    },
+
+    /**
+     * Множество повторяющихся значений (не более 16 различных).
+     */
+    MANY_DUPLICATES {
+        @Override
+        int[] generate(int size, Random random) {
+            int[] data = new int[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = random.nextInt(16);
+            }
+            return data;
+        }
+    },
+
+    /**
+     * "Органная труба": значения возрастают до середины, затем убывают.
+     */
+    ORGAN_PIPE {
+        @Override
+        int[] generate(int size, Random random) {
+            int[] data = new int[size];
+            int half = size / 2;
+            for (int i = 0; i < size; i++) {
+                data[i] = i < half ? i : size - i;
+            }
+            return data;
+        }
+    };
+
+    /**
+     * Зерно генератора случайных чисел.
+     */
+    private static final long SEED = 42L;
+
+    /**
+     * Генерирует массив данных заданного размера.
+     *
+     * @param size - размер массива.
+     * @return массив значений данной формы.
+     */
+    public int[] generate(int size) {
+        return generate(size, new Random(SEED));
+    }
+
+    abstract int[] generate(int size, Random random);
+}
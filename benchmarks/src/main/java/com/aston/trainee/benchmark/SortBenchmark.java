@@ -0,0 +1,100 @@
+package com.aston.trainee.benchmark;
+
+import com.aston.trainee.CustomArrayList;
+import com.aston.trainee.CustomArrayListImpl;
+import com.aston.trainee.SortUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки обеих перегрузок SortUtils.quickSort в сравнении с Arrays.sort и
+ * ArrayList.sort на разных формах входных данных. Перед каждым вызовом список
+ * заполняется заново, поэтому на малых размерах результат включает накладные
+ * расходы Level.Invocation.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Xss512m"})
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({"10", "1000", "100000", "10000000"})
+    private int size;
+
+    @Param
+    private InputShape shape;
+
+    private Integer[] source;
+
+    private Integer[] array;
+
+    private CustomArrayList<Integer> customList;
+
+    private List<Integer> jdkList;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        int[] data = shape.generate(size);
+        source = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            source[i] = data[i];
+        }
+        array = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        System.arraycopy(source, 0, array, 0, size);
+        customList = new CustomArrayListImpl<>(size);
+        jdkList = new ArrayList<>(size);
+        for (Integer value : source) {
+            customList.add(value);
+            jdkList.add(value);
+        }
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> quickSortComparable() {
+        SortUtils.quickSort(customList);
+        return customList;
+    }
+
+    @Benchmark
+    public CustomArrayList<Integer> quickSortComparator() {
+        SortUtils.quickSort(customList, Comparator.naturalOrder());
+        return customList;
+    }
+
+    @Benchmark
+    public Integer[] arraysSort() {
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public List<Integer> arrayListSort() {
+        jdkList.sort(Comparator.naturalOrder());
+        return jdkList;
+    }
+}
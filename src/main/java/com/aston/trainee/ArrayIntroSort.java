@@ -0,0 +1,223 @@
+package com.aston.trainee;
+
+import java.util.Comparator;
+
+/**
+ * Интроспективная сортировка, работающая непосредственно с массивом элементов коллекции
+ * CustomArrayListImpl. Алгоритм совпадает с реализацией в SortUtils для произвольной
+ * коллекции, но обращения к элементам выполняются по индексу массива.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class ArrayIntroSort {
+
+    private ArrayIntroSort() {
+    }
+
+    /**
+     * Интроспективная сортировка диапазона [from, to] массива.
+     *
+     * @param array      - массив для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param depthLimit - допустимая глубина разделений до перехода на пирамидальную сортировку.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
+     * @param <E>        - тип элементов массива.
+     */
+    static <E> void sort(Object[] array, int from, int to, Comparator<? super E> comparator, int depthLimit,
+                         SortProbe probe) {
+        while (to - from + 1 > SortUtils.INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(array, from, to, comparator, probe);
+                return;
+            }
+            SortUtils.PartitionBounds bounds = partition(array, from, to, comparator, probe);
+            if (probe != null) {
+                probe.partitioned(depthLimit);
+            }
+            if (bounds.lessTo() - from < to - bounds.greaterFrom()) {
+                sort(array, from, bounds.lessTo(), comparator, depthLimit, probe);
+                from = bounds.greaterFrom();
+            } else {
+                sort(array, bounds.greaterFrom(), to, comparator, depthLimit, probe);
+                to = bounds.lessTo();
+            }
+        }
+        insertionSort(array, from, to, comparator, probe);
+    }
+
+    /**
+     * Трехпутевое разделение диапазона [from, to] массива относительно опорного элемента.
+     *
+     * @param array      - массив для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
+     * @param <E>        - тип элементов массива.
+     * @return границы частей с элементами меньше и больше опорного.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> SortUtils.PartitionBounds partition(Object[] array, int from, int to, Comparator<? super E> comparator,
+                                                   SortProbe probe) {
+        E pivot = (E) array[pivotIndex(array, from, to, comparator)];
+        int lt = from;
+        int i = from;
+        int gt = to;
+        while (i <= gt) {
+            Object element = array[i];
+            int cmp = comparator.compare((E) element, pivot);
+            if (cmp < 0) {
+                array[i++] = array[lt];
+                array[lt++] = element;
+                if (probe != null) {
+                    probe.swap();
+                }
+            } else if (cmp > 0) {
+                array[i] = array[gt];
+                array[gt--] = element;
+                if (probe != null) {
+                    probe.swap();
+                }
+            } else {
+                i++;
+            }
+        }
+        return new SortUtils.PartitionBounds(lt - 1, gt + 1);
+    }
+
+    /**
+     * Выбирает индекс опорного элемента: медиану трех или медиану трех медиан (ninther).
+     *
+     * @param array      - массив для сортировки.
+     * @param from       - индекс первого элемента диапазона.
+     * @param to         - индекс последнего элемента диапазона.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param <E>        - тип элементов массива.
+     * @return индекс опорного элемента.
+     */
+    private static <E> int pivotIndex(Object[] array, int from, int to, Comparator<? super E> comparator) {
+        int middle = (from + to) >>> 1;
+        if (to - from + 1 < SortUtils.NINTHER_THRESHOLD) {
+            return medianOfThree(array, from, middle, to, comparator);
+        }
+        int step = (to - from + 1) / 8;
+        int first = medianOfThree(array, from, from + step, from + 2 * step, comparator);
+        int second = medianOfThree(array, middle - step, middle, middle + step, comparator);
+        int third = medianOfThree(array, to - 2 * step, to - step, to, comparator);
+        return medianOfThree(array, first, second, third, comparator);
+    }
+
+    /**
+     * Возвращает индекс медианы трех элементов массива.
+     *
+     * @param array      - массив.
+     * @param a          - индекс первого элемента.
+     * @param b          - индекс второго элемента.
+     * @param c          - индекс третьего элемента.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param <E>        - тип элементов массива.
+     * @return индекс медианы.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> int medianOfThree(Object[] array, int a, int b, int c, Comparator<? super E> comparator) {
+        E first = (E) array[a];
+        E second = (E) array[b];
+        E third = (E) array[c];
+        if (comparator.compare(first, second) < 0) {
+            if (comparator.compare(second, third) < 0) {
+                return b;
+            }
+            return comparator.compare(first, third) < 0 ? c : a;
+        }
+        if (comparator.compare(first, third) < 0) {
+            return a;
+        }
+        return comparator.compare(second, third) < 0 ? c : b;
+    }
+
+    /**
+     * Сортировка вставками диапазона [from, to] массива.
+     *
+     * @param array      - массив для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
+     * @param <E>        - тип элементов массива.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> void insertionSort(Object[] array, int from, int to, Comparator<? super E> comparator,
+                                          SortProbe probe) {
+        for (int i = from + 1; i <= to; i++) {
+            Object current = array[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare((E) array[j], (E) current) > 0) {
+                array[j + 1] = array[j];
+                j--;
+                if (probe != null) {
+                    probe.swap();
+                }
+            }
+            array[j + 1] = current;
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона [from, to] массива.
+     *
+     * @param array      - массив для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
+     * @param <E>        - тип элементов массива.
+     */
+    private static <E> void heapSort(Object[] array, int from, int to, Comparator<? super E> comparator,
+                                     SortProbe probe) {
+        int length = to - from + 1;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(array, from, i, length, comparator);
+        }
+        for (int last = length - 1; last > 0; last--) {
+            Object temp = array[from];
+            array[from] = array[from + last];
+            array[from + last] = temp;
+            if (probe != null) {
+                probe.swap();
+            }
+            siftDown(array, from, 0, last, comparator);
+        }
+    }
+
+    /**
+     * Просеивает элемент вниз по двоичной куче, расположенной в массиве начиная с индекса offset.
+     *
+     * @param array      - массив, содержащий кучу.
+     * @param offset     - индекс корня кучи в массиве.
+     * @param index      - индекс просеиваемого элемента относительно offset.
+     * @param length     - количество элементов в куче.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param <E>        - тип элементов массива.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> void siftDown(Object[] array, int offset, int index, int length,
+                                     Comparator<? super E> comparator) {
+        Object element = array[offset + index];
+        int child;
+        while ((child = 2 * index + 1) < length) {
+            if (child + 1 < length
+                    && comparator.compare((E) array[offset + child], (E) array[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (comparator.compare((E) element, (E) array[offset + child]) >= 0) {
+                break;
+            }
+            array[offset + index] = array[offset + child];
+            index = child;
+        }
+        array[offset + index] = element;
+    }
+}
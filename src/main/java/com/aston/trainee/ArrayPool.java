@@ -0,0 +1,216 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Пул массивов, разбитый на классы размеров - степени двойки. Запрошенная длина
+ * округляется вверх до размера класса, поэтому массив, возвращенный в пул одной
+ * коллекцией, подходит любой другой коллекции того же класса. В каждом классе хранится
+ * не более maxArraysPerClass массивов; массивы длиннее maxPooledLength, а также массивы,
+ * длина которых не совпадает с размером класса, не сохраняются и остаются сборщику мусора.
+ * Массивы ссылок перед возвратом в пул очищаются, чтобы пул не удерживал элементы.
+ * Пул потокобезопасен и может использоваться несколькими коллекциями и потоками
+ * одновременно. Массив, возвращенный в пул, не должен больше использоваться вызывающим кодом.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public final class ArrayPool {
+    /**
+     * Сообщение при неверных параметрах пула.
+     */
+    private static final String POOL_LIMITS_MUST_BE_POSITIVE = "pool limits must be positive";
+    /**
+     * Длина массивов наименьшего класса.
+     */
+    private static final int MIN_CLASS_LENGTH = 16;
+    /**
+     * Количество массивов в классе по умолчанию.
+     */
+    private static final int DEFAULT_ARRAYS_PER_CLASS = 32;
+    /**
+     * Наибольшая длина сохраняемых массивов по умолчанию.
+     */
+    private static final int DEFAULT_MAX_POOLED_LENGTH = 1 << 20;
+
+    private final int maxPooledLength;
+    private final Buckets<Object[]> objects;
+    private final Buckets<int[]> ints;
+    private final Buckets<long[]> longs;
+
+    /**
+     * Конструктор - создание пула, хранящего до 32 массивов в каждом классе длиной до 2^20.
+     */
+    public ArrayPool() {
+        this(DEFAULT_ARRAYS_PER_CLASS, DEFAULT_MAX_POOLED_LENGTH);
+    }
+
+    /**
+     * Конструктор - создание пула с заданными ограничениями.
+     *
+     * @param maxArraysPerClass - наибольшее количество массивов, хранимых в одном классе.
+     * @param maxPooledLength   - наибольшая длина сохраняемых массивов; округляется вверх
+     *                          до степени двойки.
+     * @throws IllegalArgumentException - если ограничения не положительны.
+     */
+    public ArrayPool(int maxArraysPerClass, int maxPooledLength) {
+        if (maxArraysPerClass <= 0 || maxPooledLength <= 0) {
+            throw new IllegalArgumentException(POOL_LIMITS_MUST_BE_POSITIVE);
+        }
+        this.maxPooledLength = classLength(Math.min(maxPooledLength, 1 << 30));
+        int classes = classIndex(this.maxPooledLength) + 1;
+        this.objects = new Buckets<>(classes, maxArraysPerClass);
+        this.ints = new Buckets<>(classes, maxArraysPerClass);
+        this.longs = new Buckets<>(classes, maxArraysPerClass);
+    }
+
+    /**
+     * Выдает массив ссылок длиной не меньше minLength, заполненный null.
+     *
+     * @param minLength - требуемая длина.
+     * @return массив из пула или новый массив.
+     */
+    public Object[] borrow(int minLength) {
+        return borrow(objects, minLength, Object[]::new);
+    }
+
+    /**
+     * Возвращает массив ссылок в пул, предварительно очищая первые used элементов.
+     * Остальные элементы массива должны быть равны null.
+     *
+     * @param array - возвращаемый массив.
+     * @param used  - количество первых элементов, которые могли быть заполнены.
+     */
+    public void release(Object[] array, int used) {
+        if (accepts(array.length)) {
+            Arrays.fill(array, 0, Math.min(used, array.length), null);
+            objects.offer(array, classIndex(array.length));
+        }
+    }
+
+    /**
+     * Выдает массив int длиной не меньше minLength. Содержимое массива не определено.
+     *
+     * @param minLength - требуемая длина.
+     * @return массив из пула или новый массив.
+     */
+    public int[] borrowInts(int minLength) {
+        return borrow(ints, minLength, int[]::new);
+    }
+
+    /**
+     * Возвращает массив int в пул.
+     *
+     * @param array - возвращаемый массив.
+     */
+    public void releaseInts(int[] array) {
+        if (accepts(array.length)) {
+            ints.offer(array, classIndex(array.length));
+        }
+    }
+
+    /**
+     * Выдает массив long длиной не меньше minLength. Содержимое массива не определено.
+     *
+     * @param minLength - требуемая длина.
+     * @return массив из пула или новый массив.
+     */
+    public long[] borrowLongs(int minLength) {
+        return borrow(longs, minLength, long[]::new);
+    }
+
+    /**
+     * Возвращает массив long в пул.
+     *
+     * @param array - возвращаемый массив.
+     */
+    public void releaseLongs(long[] array) {
+        if (accepts(array.length)) {
+            longs.offer(array, classIndex(array.length));
+        }
+    }
+
+    /**
+     * Возвращает количество массивов ссылок, хранящихся в пуле.
+     *
+     * @return количество массивов ссылок в пуле.
+     */
+    int pooledArrays() {
+        return objects.total();
+    }
+
+    private <A> A borrow(Buckets<A> buckets, int minLength, IntFunction<A> factory) {
+        if (minLength > maxPooledLength) {
+            return factory.apply(minLength);
+        }
+        int length = classLength(minLength);
+        A array = buckets.poll(classIndex(length));
+        return array != null ? array : factory.apply(length);
+    }
+
+    /**
+     * Проверяет, что массив такой длины может храниться в пуле: длина равна размеру
+     * одного из классов.
+     */
+    private boolean accepts(int length) {
+        return length >= MIN_CLASS_LENGTH && length <= maxPooledLength && Integer.bitCount(length) == 1;
+    }
+
+    /**
+     * Возвращает размер класса - наименьшую степень двойки, не меньшую length и MIN_CLASS_LENGTH.
+     */
+    private static int classLength(int length) {
+        return length <= MIN_CLASS_LENGTH ? MIN_CLASS_LENGTH : Integer.highestOneBit(length - 1) << 1;
+    }
+
+    private static int classIndex(int classLength) {
+        return Integer.numberOfTrailingZeros(classLength) - Integer.numberOfTrailingZeros(MIN_CLASS_LENGTH);
+    }
+
+    /**
+     * Ограниченные по размеру стеки массивов одного типа, по одному на класс.
+     */
+    private static final class Buckets<A> {
+        private final ConcurrentLinkedDeque<A>[] stacks;
+        private final AtomicInteger[] counts;
+        private final int maxArraysPerClass;
+
+        @SuppressWarnings("unchecked")
+        private Buckets(int classes, int maxArraysPerClass) {
+            this.stacks = new ConcurrentLinkedDeque[classes];
+            this.counts = new AtomicInteger[classes];
+            this.maxArraysPerClass = maxArraysPerClass;
+            for (int i = 0; i < classes; i++) {
+                stacks[i] = new ConcurrentLinkedDeque<>();
+                counts[i] = new AtomicInteger();
+            }
+        }
+
+        private A poll(int classIndex) {
+            A array = stacks[classIndex].pollFirst();
+            if (array != null) {
+                counts[classIndex].decrementAndGet();
+            }
+            return array;
+        }
+
+        private void offer(A array, int classIndex) {
+            if (counts[classIndex].incrementAndGet() <= maxArraysPerClass) {
+                stacks[classIndex].offerFirst(array);
+            } else {
+                counts[classIndex].decrementAndGet();
+            }
+        }
+
+        private int total() {
+            int total = 0;
+            for (AtomicInteger count : counts) {
+                total += count.get();
+            }
+            return total;
+        }
+    }
+}
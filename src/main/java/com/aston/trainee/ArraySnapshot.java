@@ -0,0 +1,62 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Неизменяемый снимок коллекции - первые size элементов массива. Массив может быть
+ * общим с коллекцией, из которой сделан снимок: коллекция обязуется не изменять эти
+ * элементы и копирует массив перед первой записью в них (копирование при записи).
+ * Поля снимка неизменяемы, поэтому снимок можно передавать другим потокам без
+ * дополнительной синхронизации.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class ArraySnapshot<E> extends ReadOnlyCustomArrayList<E> {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+
+    private final Object[] elementData;
+    private final int size;
+
+    /**
+     * Конструктор - создание снимка из первых size элементов массива без копирования.
+     *
+     * @param elementData - массив элементов.
+     * @param size        - количество элементов снимка.
+     */
+    ArraySnapshot(Object[] elementData, int size) {
+        this.elementData = elementData;
+        this.size = size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+        return (E) elementData[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        return (E[]) Arrays.copyOf(elementData, size);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(elementData, 0, size, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+}
@@ -0,0 +1,514 @@
+package com.aston.trainee;
+
+import java.util.Comparator;
+
+/**
+ * Устойчивая адаптивная сортировка слиянием естественных серий (TimSort) для массива
+ * элементов. Массив разбивается на уже упорядоченные серии; строго убывающие серии
+ * разворачиваются, а короткие дополняются до minRun двоичной сортировкой вставками.
+ * Серии складываются в стек и сливаются так, чтобы их длины убывали не медленнее
+ * чисел Фибоначчи. При слиянии, если одна из серий несколько раз подряд "выигрывает",
+ * используется галопирующий поиск, и элементы копируются блоками. На упорядоченных
+ * и почти упорядоченных данных сортировка работает за время, близкое к линейному.
+ * Временный буфер слияний берется из пула SortUtils.scratchPool, если он задан.
+ *
+ * @param <E> - тип элементов массива.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class ArrayTimSort<E> {
+    /**
+     * Размер диапазона, меньше которого массив сортируется двоичными вставками без слияний.
+     */
+    private static final int MIN_MERGE = 32;
+    /**
+     * Начальное количество "побед" одной серии подряд для перехода в режим галопа.
+     */
+    private static final int MIN_GALLOP = 7;
+    /**
+     * Максимальная глубина стека серий; достаточна для массивов размером до Integer.MAX_VALUE.
+     */
+    private static final int MAX_STACK_SIZE = 49;
+
+    private final Object[] array;
+    private final Comparator<? super E> comparator;
+    private final int[] runBase = new int[MAX_STACK_SIZE];
+    private final int[] runLength = new int[MAX_STACK_SIZE];
+    private int stackSize = 0;
+    private int minGallop = MIN_GALLOP;
+    private Object[] buffer = new Object[0];
+
+    private ArrayTimSort(Object[] array, Comparator<? super E> comparator) {
+        this.array = array;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Устойчиво сортирует диапазон [from, to] массива.
+     *
+     * @param array      - массив для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param <E>        - тип элементов массива.
+     */
+    static <E> void sort(Object[] array, int from, int to, Comparator<? super E> comparator) {
+        int low = from;
+        int high = to + 1;
+        int remaining = high - low;
+        if (remaining < 2) {
+            return;
+        }
+        ArrayTimSort<E> sorter = new ArrayTimSort<>(array, comparator);
+        if (remaining < MIN_MERGE) {
+            sorter.binaryInsertionSort(low, high, low + sorter.countRunAndMakeAscending(low, high));
+            return;
+        }
+        int minRun = minRunLength(remaining);
+        do {
+            int run = sorter.countRunAndMakeAscending(low, high);
+            if (run < minRun) {
+                int forced = Math.min(remaining, minRun);
+                sorter.binaryInsertionSort(low, low + forced, low + run);
+                run = forced;
+            }
+            sorter.pushRun(low, run);
+            sorter.mergeCollapse();
+            low += run;
+            remaining -= run;
+        } while (remaining != 0);
+        sorter.mergeForceCollapse();
+        sorter.releaseBuffer();
+    }
+
+    /**
+     * Вычисляет минимальную длину серии: число от MIN_MERGE / 2 до MIN_MERGE, при котором
+     * количество серий равно степени двойки или немного меньше нее.
+     *
+     * @param length - длина сортируемого диапазона.
+     * @return минимальная длина серии.
+     */
+    private static int minRunLength(int length) {
+        int remainder = 0;
+        while (length >= MIN_MERGE) {
+            remainder |= length & 1;
+            length >>= 1;
+        }
+        return length + remainder;
+    }
+
+    /**
+     * Находит длину серии, начинающейся с low. Строго убывающая серия разворачивается,
+     * поэтому после вызова серия всегда неубывающая (строгость нужна для устойчивости).
+     *
+     * @param low  - индекс начала серии.
+     * @param high - граница диапазона (не включительно).
+     * @return длина серии.
+     */
+    @SuppressWarnings("unchecked")
+    private int countRunAndMakeAscending(int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (comparator.compare((E) array[runHigh++], (E) array[low]) < 0) {
+            while (runHigh < high && comparator.compare((E) array[runHigh], (E) array[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverse(low, runHigh);
+        } else {
+            while (runHigh < high && comparator.compare((E) array[runHigh], (E) array[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * Разворачивает диапазон [low, high) массива.
+     */
+    private void reverse(int low, int high) {
+        high--;
+        while (low < high) {
+            Object temp = array[low];
+            array[low++] = array[high];
+            array[high--] = temp;
+        }
+    }
+
+    /**
+     * Сортирует диапазон [low, high) двоичными вставками, считая диапазон [low, start)
+     * уже упорядоченным. Позиция вставки ищется двоичным поиском после равных элементов,
+     * сдвиг выполняется одним копированием.
+     *
+     * @param low   - индекс начала диапазона.
+     * @param high  - граница диапазона (не включительно).
+     * @param start - индекс первого неупорядоченного элемента.
+     */
+    @SuppressWarnings("unchecked")
+    private void binaryInsertionSort(int low, int high, int start) {
+        if (start == low) {
+            start++;
+        }
+        for (; start < high; start++) {
+            Object pivot = array[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (comparator.compare((E) pivot, (E) array[middle]) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+            System.arraycopy(array, left, array, left + 1, start - left);
+            array[left] = pivot;
+        }
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * Сливает серии на вершине стека, пока не выполняются инварианты
+     * len[n - 1] > len[n] + len[n + 1] и len[n] > len[n + 1] для трех верхних серий
+     * (и для серии под ними).
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                    || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает все серии стека в одну.
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Сливает серии стека с индексами i и i + 1. Элементы первой серии, не большие
+     * первого элемента второй, и элементы второй серии, не меньшие последнего элемента
+     * первой, уже стоят на своих местах и в слиянии не участвуют.
+     *
+     * @param i - индекс первой из сливаемых серий в стеке.
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+        runLength[i] = length1 + length2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+
+        int skipped = gallopRight((E) array[base2], array, base1, length1, 0);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) {
+            return;
+        }
+        length2 = gallopLeft((E) array[base1 + length1 - 1], array, base2, length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * Слияние соседних серий, при котором меньшая первая серия копируется во временный
+     * буфер, а результат заполняется от начала.
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        Object[] temp = buffer(length1);
+        System.arraycopy(array, base1, temp, 0, length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int destination = base1;
+        int end2 = base2 + length2;
+        int gallop = minGallop;
+        outer:
+        while (true) {
+            int wins1 = 0;
+            int wins2 = 0;
+            do {
+                if (comparator.compare((E) array[cursor2], (E) temp[cursor1]) < 0) {
+                    array[destination++] = array[cursor2++];
+                    wins2++;
+                    wins1 = 0;
+                    if (cursor2 == end2) {
+                        break outer;
+                    }
+                } else {
+                    array[destination++] = temp[cursor1++];
+                    wins1++;
+                    wins2 = 0;
+                    if (cursor1 == length1) {
+                        break outer;
+                    }
+                }
+            } while ((wins1 | wins2) < gallop);
+            do {
+                wins1 = gallopRight((E) array[cursor2], temp, cursor1, length1 - cursor1, 0);
+                if (wins1 != 0) {
+                    System.arraycopy(temp, cursor1, array, destination, wins1);
+                    destination += wins1;
+                    cursor1 += wins1;
+                    if (cursor1 == length1) {
+                        break outer;
+                    }
+                }
+                array[destination++] = array[cursor2++];
+                if (cursor2 == end2) {
+                    break outer;
+                }
+                wins2 = gallopLeft((E) temp[cursor1], array, cursor2, end2 - cursor2, 0);
+                if (wins2 != 0) {
+                    System.arraycopy(array, cursor2, array, destination, wins2);
+                    destination += wins2;
+                    cursor2 += wins2;
+                    if (cursor2 == end2) {
+                        break outer;
+                    }
+                }
+                array[destination++] = temp[cursor1++];
+                if (cursor1 == length1) {
+                    break outer;
+                }
+                gallop--;
+            } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        minGallop = Math.max(gallop, 1);
+        System.arraycopy(temp, cursor1, array, destination, length1 - cursor1);
+    }
+
+    /**
+     * Слияние соседних серий, при котором меньшая вторая серия копируется во временный
+     * буфер, а результат заполняется от конца.
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        Object[] temp = buffer(length2);
+        System.arraycopy(array, base2, temp, 0, length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int destination = base2 + length2 - 1;
+        int gallop = minGallop;
+        outer:
+        while (true) {
+            int wins1 = 0;
+            int wins2 = 0;
+            do {
+                if (comparator.compare((E) temp[cursor2], (E) array[cursor1]) < 0) {
+                    array[destination--] = array[cursor1--];
+                    wins1++;
+                    wins2 = 0;
+                    if (cursor1 < base1) {
+                        break outer;
+                    }
+                } else {
+                    array[destination--] = temp[cursor2--];
+                    wins2++;
+                    wins1 = 0;
+                    if (cursor2 < 0) {
+                        break outer;
+                    }
+                }
+            } while ((wins1 | wins2) < gallop);
+            do {
+                int remaining1 = cursor1 - base1 + 1;
+                wins1 = remaining1 - gallopRight((E) temp[cursor2], array, base1, remaining1, remaining1 - 1);
+                if (wins1 != 0) {
+                    destination -= wins1;
+                    cursor1 -= wins1;
+                    System.arraycopy(array, cursor1 + 1, array, destination + 1, wins1);
+                    if (cursor1 < base1) {
+                        break outer;
+                    }
+                }
+                array[destination--] = temp[cursor2--];
+                if (cursor2 < 0) {
+                    break outer;
+                }
+                int remaining2 = cursor2 + 1;
+                wins2 = remaining2 - gallopLeft((E) array[cursor1], temp, 0, remaining2, remaining2 - 1);
+                if (wins2 != 0) {
+                    destination -= wins2;
+                    cursor2 -= wins2;
+                    System.arraycopy(temp, cursor2 + 1, array, destination + 1, wins2);
+                    if (cursor2 < 0) {
+                        break outer;
+                    }
+                }
+                array[destination--] = array[cursor1--];
+                if (cursor1 < base1) {
+                    break outer;
+                }
+                gallop--;
+            } while (wins1 >= MIN_GALLOP || wins2 >= MIN_GALLOP);
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        minGallop = Math.max(gallop, 1);
+        System.arraycopy(temp, 0, array, destination - cursor2, cursor2 + 1);
+    }
+
+    /**
+     * Галопирующий поиск: возвращает количество элементов диапазона [base, base + length),
+     * строго меньших key. Поиск начинается с позиции hint и расширяется экспоненциально,
+     * затем уточняется двоичным поиском.
+     *
+     * @param key    - искомый элемент.
+     * @param source - массив, содержащий упорядоченный диапазон.
+     * @param base   - индекс начала диапазона.
+     * @param length - длина диапазона, больше 0.
+     * @param hint   - позиция начала поиска, 0 <= hint < length.
+     * @return количество элементов диапазона, меньших key.
+     */
+    @SuppressWarnings("unchecked")
+    private int gallopLeft(E key, Object[] source, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, (E) source[base + hint]) > 0) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, (E) source[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = nextOffset(offset, maxOffset);
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, (E) source[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = nextOffset(offset, maxOffset);
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, (E) source[base + middle]) > 0) {
+                lastOffset = middle + 1;
+            } else {
+                offset = middle;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Галопирующий поиск: возвращает количество элементов диапазона [base, base + length),
+     * не больших key.
+     *
+     * @param key    - искомый элемент.
+     * @param source - массив, содержащий упорядоченный диапазон.
+     * @param base   - индекс начала диапазона.
+     * @param length - длина диапазона, больше 0.
+     * @param hint   - позиция начала поиска, 0 <= hint < length.
+     * @return количество элементов диапазона, не больших key.
+     */
+    @SuppressWarnings("unchecked")
+    private int gallopRight(E key, Object[] source, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, (E) source[base + hint]) < 0) {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, (E) source[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = nextOffset(offset, maxOffset);
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, (E) source[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = nextOffset(offset, maxOffset);
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, (E) source[base + middle]) < 0) {
+                offset = middle;
+            } else {
+                lastOffset = middle + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Следующее смещение экспоненциального поиска (1, 3, 7, 15, ...) с защитой от переполнения.
+     */
+    private static int nextOffset(int offset, int maxOffset) {
+        int next = (offset << 1) + 1;
+        return next <= 0 ? maxOffset : next;
+    }
+
+    /**
+     * Возвращает временный буфер не меньше требуемого размера.
+     */
+    private Object[] buffer(int length) {
+        if (buffer.length < length) {
+            int newLength = Math.max(length, Math.min(array.length >>> 1, length * 2));
+            ArrayPool pool = SortUtils.scratchPool();
+            if (pool != null) {
+                pool.release(buffer, buffer.length);
+                buffer = pool.borrow(newLength);
+            } else {
+                buffer = new Object[newLength];
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Возвращает временный буфер в пул, если он задан.
+     */
+    private void releaseBuffer() {
+        ArrayPool pool = SortUtils.scratchPool();
+        if (pool != null) {
+            pool.release(buffer, buffer.length);
+        }
+    }
+}
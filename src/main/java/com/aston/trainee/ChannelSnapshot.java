@@ -0,0 +1,241 @@
+package com.aston.trainee;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Двоичный формат снимка CustomArrayList для записи в каналы NIO и чтения из них.
+ * Снимок состоит из заголовка фиксированной длины и следующих за ним записей
+ * фиксированной длины, закодированных при помощи RecordCodec. Заголовок записывается
+ * в порядке байтов BIG_ENDIAN и содержит сигнатуру, порядок байтов записей, размер
+ * записи и количество записей (префикс длины). Записи кодируются в порядке байтов
+ * платформы, поэтому коллекции вне кучи могут записывать и читать свои блоки без
+ * перекодирования.
+ * Обычный путь кодирует элементы порциями в прямой ByteBuffer, не копируя коллекцию
+ * целиком, и отправляет заголовок вместе с первой порцией одной сборной записью.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class ChannelSnapshot {
+    /**
+     * Сигнатура снимка.
+     */
+    static final int MAGIC = 0x43414C53;
+    /**
+     * Размер заголовка в байтах.
+     */
+    static final int HEADER_SIZE = 24;
+    /**
+     * Размер порции записей, кодируемых за один раз, в байтах.
+     */
+    private static final int BATCH_BYTES = 1 << 16;
+    private static final String ARGUMENT_NOT_NULL = "Arguments must not be null";
+    private static final String INCOMPATIBLE_SNAPSHOT_FORMAT_MESSAGE = "snapshot is not compatible: %s";
+
+    private ChannelSnapshot() {
+    }
+
+    /**
+     * Заголовок снимка.
+     *
+     * @param order - порядок байтов записей.
+     * @param count - количество записей.
+     */
+    record Header(ByteOrder order, long count) {
+    }
+
+    /**
+     * Записывает снимок коллекции в канал.
+     *
+     * @param source  - коллекция.
+     * @param channel - канал для записи.
+     * @param codec   - кодек элементов.
+     * @param <E>     - тип элементов коллекции.
+     * @return количество записанных байт.
+     * @throws IOException - при ошибке записи.
+     */
+    static <E> long write(CustomArrayList<E> source, WritableByteChannel channel, RecordCodec<? super E> codec)
+            throws IOException {
+        checkArguments(source, channel, codec);
+        int recordSize = codec.recordSize();
+        int size = source.size();
+        ByteBuffer header = header(recordSize, size, ByteOrder.nativeOrder());
+        ByteBuffer batch = ByteBuffer.allocateDirect(batchBytes(recordSize)).order(ByteOrder.nativeOrder());
+        long written = 0;
+        int index = 0;
+        do {
+            batch.clear();
+            int offset = 0;
+            while (index < size && offset + recordSize <= batch.capacity()) {
+                codec.encode(source.get(index++), batch, offset);
+                offset += recordSize;
+            }
+            batch.limit(offset);
+            written += header != null ? writeFully(channel, header, batch) : writeFully(channel, batch);
+            header = null;
+        } while (index < size);
+        return written;
+    }
+
+    /**
+     * Читает снимок из канала и добавляет его элементы в конец коллекции.
+     *
+     * @param target  - коллекция.
+     * @param channel - канал для чтения.
+     * @param codec   - кодек элементов.
+     * @param <E>     - тип элементов коллекции.
+     * @throws IOException - при ошибке чтения или несовместимом формате снимка.
+     */
+    static <E> void read(CustomArrayList<E> target, ReadableByteChannel channel, RecordCodec<? extends E> codec)
+            throws IOException {
+        checkArguments(target, channel, codec);
+        Header header = readHeader(channel, codec.recordSize(), target.size());
+        readRecords(target, channel, codec, header);
+    }
+
+    /**
+     * Читает записи, следующие за уже прочитанным заголовком, и добавляет их в конец коллекции.
+     *
+     * @param target  - коллекция.
+     * @param channel - канал для чтения.
+     * @param codec   - кодек элементов.
+     * @param header  - прочитанный заголовок.
+     * @param <E>     - тип элементов коллекции.
+     * @throws IOException - при ошибке чтения.
+     */
+    static <E> void readRecords(CustomArrayList<E> target, ReadableByteChannel channel,
+                                RecordCodec<? extends E> codec, Header header) throws IOException {
+        int recordSize = codec.recordSize();
+        long remaining = header.count();
+        target.ensureCapacity((int) (target.size() + remaining));
+        ByteBuffer batch = ByteBuffer.allocateDirect(batchBytes(recordSize)).order(header.order());
+        while (remaining > 0) {
+            int records = (int) Math.min(remaining, batch.capacity() / recordSize);
+            batch.clear().limit(records * recordSize);
+            readFully(channel, batch);
+            for (int offset = 0; offset < batch.limit(); offset += recordSize) {
+                target.add(codec.decode(batch, offset));
+            }
+            remaining -= records;
+        }
+    }
+
+    /**
+     * Создает заголовок снимка в прямом буфере, готовом к записи.
+     *
+     * @param recordSize - размер записи в байтах.
+     * @param count      - количество записей.
+     * @param order      - порядок байтов записей.
+     * @return буфер с заголовком.
+     */
+    static ByteBuffer header(int recordSize, long count, ByteOrder order) {
+        ByteBuffer header = ByteBuffer.allocateDirect(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putInt(order == ByteOrder.BIG_ENDIAN ? 0 : 1)
+                .putInt(recordSize)
+                .putInt(0)
+                .putLong(count)
+                .flip();
+        return header;
+    }
+
+    /**
+     * Читает и проверяет заголовок снимка.
+     *
+     * @param channel     - канал для чтения.
+     * @param recordSize  - ожидаемый размер записи.
+     * @param currentSize - текущий размер коллекции, в которую добавляются записи.
+     * @return заголовок снимка.
+     * @throws IOException - при ошибке чтения или несовместимом формате снимка.
+     */
+    static Header readHeader(ReadableByteChannel channel, int recordSize, int currentSize) throws IOException {
+        ByteBuffer header = ByteBuffer.allocateDirect(HEADER_SIZE);
+        readFully(channel, header);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException(String.format(INCOMPATIBLE_SNAPSHOT_FORMAT_MESSAGE, "bad signature"));
+        }
+        ByteOrder order = header.getInt() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        int snapshotRecordSize = header.getInt();
+        if (snapshotRecordSize != recordSize) {
+            throw new IOException(String.format(INCOMPATIBLE_SNAPSHOT_FORMAT_MESSAGE,
+                    "record size " + snapshotRecordSize + " differs from codec " + recordSize));
+        }
+        header.getInt();
+        long count = header.getLong();
+        if (count < 0 || currentSize + count > Integer.MAX_VALUE) {
+            throw new IOException(String.format(INCOMPATIBLE_SNAPSHOT_FORMAT_MESSAGE,
+                    "record count " + count + " does not fit into the list"));
+        }
+        return new Header(order, count);
+    }
+
+    /**
+     * Записывает все оставшиеся байты буферов в канал. Если канал поддерживает
+     * сборную запись, буферы передаются одним вызовом.
+     *
+     * @param channel - канал для записи.
+     * @param buffers - буферы для записи.
+     * @return количество записанных байт.
+     * @throws IOException - при ошибке записи.
+     */
+    static long writeFully(WritableByteChannel channel, ByteBuffer... buffers) throws IOException {
+        long written = 0;
+        if (channel instanceof GatheringByteChannel gathering) {
+            while (hasRemaining(buffers)) {
+                written += gathering.write(buffers);
+            }
+            return written;
+        }
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Читает из канала байты до заполнения буфера.
+     *
+     * @param channel - канал для чтения.
+     * @param buffer  - буфер для чтения.
+     * @throws EOFException - если канал закончился раньше.
+     * @throws IOException  - при ошибке чтения.
+     */
+    static void readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает размер порции, кратный размеру записи и вмещающий хотя бы одну запись.
+     */
+    private static int batchBytes(int recordSize) {
+        return Math.max(recordSize, BATCH_BYTES / recordSize * recordSize);
+    }
+
+    private static void checkArguments(Object list, Object channel, Object codec) {
+        if (list == null || channel == null || codec == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+    }
+}
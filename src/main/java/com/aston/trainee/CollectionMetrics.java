@@ -0,0 +1,282 @@
+package com.aston.trainee;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Метрики горячих участков CustomArrayListImpl и SortUtils: количество увеличений
+ * вместимости, количество скопированных элементов и пиковая вместимость массивов,
+ * а для быстрой сортировки - количество сравнений, перестановок, максимальная глубина
+ * разделений и время работы. Сбор метрик по умолчанию выключен; при выключенном сборе
+ * коллекции и сортировки выполняют только чтение одного volatile поля.
+ * Накопленные значения доступны через методы класса и MXBean, каждая операция
+ * передается слушателям и записывается как событие JFR (ListResizeEvent, SortEvent),
+ * если соответствующее событие включено в записи JFR.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public final class CollectionMetrics {
+    private static final String LISTENER_NOT_NULL = "Listener must not be null";
+    /**
+     * Имя, под которым регистрируется MXBean.
+     */
+    public static final String OBJECT_NAME = "com.aston.trainee:type=CollectionMetrics";
+
+    private static volatile boolean enabled = false;
+    private static final List<CollectionMetricsListener> listeners = new CopyOnWriteArrayList<>();
+    private static final LongAdder resizeCount = new LongAdder();
+    private static final LongAdder copiedElements = new LongAdder();
+    private static final AtomicInteger peakCapacity = new AtomicInteger();
+    private static final LongAdder sortCount = new LongAdder();
+    private static final LongAdder comparisons = new LongAdder();
+    private static final LongAdder swaps = new LongAdder();
+    private static final AtomicInteger maxRecursionDepth = new AtomicInteger();
+    private static final LongAdder totalSortNanos = new LongAdder();
+
+    private CollectionMetrics() {
+    }
+
+    /**
+     * @return true, если сбор метрик включен.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Включает или выключает сбор метрик.
+     *
+     * @param enabled - true для включения.
+     */
+    public static void setEnabled(boolean enabled) {
+        CollectionMetrics.enabled = enabled;
+    }
+
+    /**
+     * Добавляет слушателя метрик.
+     *
+     * @param listener - слушатель.
+     * @throws IllegalArgumentException - если listener равен null.
+     */
+    public static void addListener(CollectionMetricsListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException(LISTENER_NOT_NULL);
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Удаляет слушателя метрик.
+     *
+     * @param listener - слушатель.
+     */
+    public static void removeListener(CollectionMetricsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Регистрирует MXBean с метриками в платформенном MBeanServer под именем OBJECT_NAME.
+     * Повторная регистрация ничего не делает.
+     *
+     * @throws IllegalStateException - если регистрация не удалась.
+     */
+    public static void registerMXBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new MXBean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // уже зарегистрирован
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Обнуляет накопленные метрики.
+     */
+    public static void reset() {
+        resizeCount.reset();
+        copiedElements.reset();
+        peakCapacity.set(0);
+        sortCount.reset();
+        comparisons.reset();
+        swaps.reset();
+        maxRecursionDepth.set(0);
+        totalSortNanos.reset();
+    }
+
+    /**
+     * @return количество увеличений вместимости массивов.
+     */
+    public static long getResizeCount() {
+        return resizeCount.sum();
+    }
+
+    /**
+     * @return количество элементов, скопированных при увеличении вместимости и сдвигах.
+     */
+    public static long getCopiedElements() {
+        return copiedElements.sum();
+    }
+
+    /**
+     * @return максимальная вместимость массива среди всех коллекций.
+     */
+    public static int getPeakCapacity() {
+        return peakCapacity.get();
+    }
+
+    /**
+     * @return количество вызовов быстрой сортировки.
+     */
+    public static long getSortCount() {
+        return sortCount.sum();
+    }
+
+    /**
+     * @return суммарное количество сравнений во всех сортировках.
+     */
+    public static long getComparisons() {
+        return comparisons.sum();
+    }
+
+    /**
+     * @return суммарное количество перестановок во всех сортировках.
+     */
+    public static long getSwaps() {
+        return swaps.sum();
+    }
+
+    /**
+     * @return максимальная глубина разделений среди всех сортировок.
+     */
+    public static int getMaxRecursionDepth() {
+        return maxRecursionDepth.get();
+    }
+
+    /**
+     * @return суммарное время всех сортировок в наносекундах.
+     */
+    public static long getTotalSortNanos() {
+        return totalSortNanos.sum();
+    }
+
+    /**
+     * Учитывает увеличение вместимости массива. Вызывается только при включенных метриках.
+     *
+     * @param oldCapacity    - вместимость до увеличения.
+     * @param newCapacity    - вместимость после увеличения.
+     * @param copiedElements - количество скопированных в новый массив элементов.
+     */
+    static void recordResize(int oldCapacity, int newCapacity, int copiedElements) {
+        resizeCount.increment();
+        CollectionMetrics.copiedElements.add(copiedElements);
+        peakCapacity.accumulateAndGet(newCapacity, Math::max);
+        ListResizeEvent event = new ListResizeEvent();
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.copiedElements = copiedElements;
+            event.commit();
+        }
+        for (CollectionMetricsListener listener : listeners) {
+            listener.onResize(oldCapacity, newCapacity);
+        }
+    }
+
+    /**
+     * Учитывает копирование элементов при сдвиге внутри массива. Вызывается только
+     * при включенных метриках.
+     *
+     * @param count - количество скопированных элементов.
+     */
+    static void recordCopy(int count) {
+        copiedElements.add(count);
+    }
+
+    /**
+     * Учитывает завершенную сортировку. Вызывается только при включенных метриках.
+     *
+     * @param probe - счетчики сортировки.
+     * @param size  - количество отсортированных элементов.
+     */
+    static void recordSort(SortProbe probe, int size) {
+        SortStatistics statistics = probe.finish(size);
+        sortCount.increment();
+        comparisons.add(statistics.comparisons());
+        swaps.add(statistics.swaps());
+        maxRecursionDepth.accumulateAndGet(statistics.maxRecursionDepth(), Math::max);
+        totalSortNanos.add(statistics.elapsedNanos());
+        for (CollectionMetricsListener listener : listeners) {
+            listener.onSort(statistics);
+        }
+    }
+
+    /**
+     * Реализация MXBean, делегирующая статическим методам класса.
+     */
+    private static final class MXBean implements CollectionMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return CollectionMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            CollectionMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public long getResizeCount() {
+            return CollectionMetrics.getResizeCount();
+        }
+
+        @Override
+        public long getCopiedElements() {
+            return CollectionMetrics.getCopiedElements();
+        }
+
+        @Override
+        public int getPeakCapacity() {
+            return CollectionMetrics.getPeakCapacity();
+        }
+
+        @Override
+        public long getSortCount() {
+            return CollectionMetrics.getSortCount();
+        }
+
+        @Override
+        public long getComparisons() {
+            return CollectionMetrics.getComparisons();
+        }
+
+        @Override
+        public long getSwaps() {
+            return CollectionMetrics.getSwaps();
+        }
+
+        @Override
+        public int getMaxRecursionDepth() {
+            return CollectionMetrics.getMaxRecursionDepth();
+        }
+
+        @Override
+        public long getTotalSortNanos() {
+            return CollectionMetrics.getTotalSortNanos();
+        }
+
+        @Override
+        public void reset() {
+            CollectionMetrics.reset();
+        }
+    }
+}
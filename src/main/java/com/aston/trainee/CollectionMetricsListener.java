@@ -0,0 +1,28 @@
+package com.aston.trainee;
+
+/**
+ * Слушатель метрик коллекций. Вызывается синхронно в потоке, выполняющем операцию,
+ * поэтому реализация должна быть быстрой и потокобезопасной.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public interface CollectionMetricsListener {
+
+    /**
+     * Вызывается после увеличения вместимости массива CustomArrayListImpl.
+     *
+     * @param oldCapacity - вместимость до увеличения.
+     * @param newCapacity - вместимость после увеличения.
+     */
+    default void onResize(int oldCapacity, int newCapacity) {
+    }
+
+    /**
+     * Вызывается после завершения быстрой сортировки в SortUtils.
+     *
+     * @param statistics - статистика сортировки.
+     */
+    default void onSort(SortStatistics statistics) {
+    }
+}
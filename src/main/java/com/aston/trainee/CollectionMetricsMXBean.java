@@ -0,0 +1,68 @@
+package com.aston.trainee;
+
+/**
+ * MXBean для просмотра накопленных метрик коллекций через JMX.
+ * Регистрируется методом CollectionMetrics.registerMXBean().
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public interface CollectionMetricsMXBean {
+
+    /**
+     * @return true, если сбор метрик включен.
+     */
+    boolean isEnabled();
+
+    /**
+     * Включает или выключает сбор метрик.
+     *
+     * @param enabled - true для включения.
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return количество увеличений вместимости массивов.
+     */
+    long getResizeCount();
+
+    /**
+     * @return количество элементов, скопированных при увеличении вместимости и сдвигах.
+     */
+    long getCopiedElements();
+
+    /**
+     * @return максимальная вместимость массива среди всех коллекций.
+     */
+    int getPeakCapacity();
+
+    /**
+     * @return количество вызовов быстрой сортировки.
+     */
+    long getSortCount();
+
+    /**
+     * @return суммарное количество сравнений во всех сортировках.
+     */
+    long getComparisons();
+
+    /**
+     * @return суммарное количество перестановок во всех сортировках.
+     */
+    long getSwaps();
+
+    /**
+     * @return максимальная глубина разделений среди всех сортировок.
+     */
+    int getMaxRecursionDepth();
+
+    /**
+     * @return суммарное время всех сортировок в наносекундах.
+     */
+    long getTotalSortNanos();
+
+    /**
+     * Обнуляет накопленные метрики.
+     */
+    void reset();
+}
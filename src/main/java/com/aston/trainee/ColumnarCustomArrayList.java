@@ -0,0 +1,770 @@
+package com.aston.trainee;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Колоночная (struct-of-arrays) реализация CustomArrayList для записей (record).
+ * Вместо массива ссылок на записи каждый компонент записи хранится в отдельной колонке:
+ * компоненты long, double, float и boolean - в массивах своего примитивного типа,
+ * компоненты int, short, byte и char - в массиве int[], ссылочные компоненты - в массиве
+ * своего типа (например, String[]). Упаковка значений выполняется только при создании
+ * записи. Записи создаются заново каноническим конструктором при каждом вызове get,
+ * поэтому проходы и сортировки по одному компоненту читают один плотный массив
+ * последовательно, не переходя по ссылкам на записи.
+ * Для проходов по одному компоненту предназначены методы intColumn, longColumn,
+ * doubleColumn и column, для сортировки по компоненту - SortUtils.sortByColumn.
+ *
+ * @param <E> - тип записей в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class ColumnarCustomArrayList<E extends Record> implements CustomArrayList<E> {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+    /**
+     * Сообщение при установке отрицательного capacity.
+     */
+    private static final String START_CAPACITY_NOT_LESS_THEN_ZERO = "start capacity must not be less then 0";
+    private static final String RECORD_TYPE_NOT_NULL = "Record type must not be null";
+    private static final String ELEMENT_NOT_NULL = "Element must not be null";
+    private static final String UNKNOWN_COMPONENT_FORMAT_MESSAGE = "unknown component: %s";
+    private static final String COMPONENT_TYPE_FORMAT_MESSAGE = "component %s is not of type %s";
+    private static final String RECORD_NOT_ACCESSIBLE_FORMAT_MESSAGE = "record %s is not accessible";
+    /**
+     * Стартовый размер коллекции при инициализации.
+     */
+    private static final int START_CAPACITY = 10;
+
+    /**
+     * Тип записей.
+     */
+    private final Class<E> recordType;
+    /**
+     * Канонический конструктор записи, принимающий значения компонентов массивом Object[].
+     */
+    private final MethodHandle constructor;
+    /**
+     * Колонки в порядке объявления компонентов записи.
+     */
+    private final Column[] columns;
+    /**
+     * Вместимость колонок.
+     */
+    private int capacity;
+    /**
+     * Количество записей в коллекции.
+     */
+    private int size = 0;
+
+    /**
+     * Конструктор - создание коллекции с колонками вместимостью для 10 записей.
+     *
+     * @param recordType - тип записей.
+     * @throws IllegalArgumentException - если тип записей равен null или недоступен.
+     */
+    public ColumnarCustomArrayList(Class<E> recordType) {
+        this(recordType, START_CAPACITY);
+    }
+
+    /**
+     * Конструктор - создание коллекции с колонками вместимостью startCapacity.
+     *
+     * @param recordType    - тип записей.
+     * @param startCapacity - значение стартовой вместимости.
+     * @throws IllegalArgumentException - если тип записей равен null или недоступен,
+     *                                  либо при отрицательной стартовой вместимости.
+     */
+    public ColumnarCustomArrayList(Class<E> recordType, int startCapacity) {
+        if (recordType == null) {
+            throw new IllegalArgumentException(RECORD_TYPE_NOT_NULL);
+        }
+        if (startCapacity < 0) {
+            throw new IllegalArgumentException(START_CAPACITY_NOT_LESS_THEN_ZERO);
+        }
+        this.recordType = recordType;
+        RecordComponent[] components = recordType.getRecordComponents();
+        Class<?>[] componentTypes = new Class<?>[components.length];
+        this.columns = new Column[components.length];
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            for (int i = 0; i < components.length; i++) {
+                componentTypes[i] = components[i].getType();
+                Method accessor = components[i].getAccessor();
+                accessor.setAccessible(true);
+                columns[i] = column(components[i].getName(), componentTypes[i], lookup.unreflect(accessor),
+                        startCapacity);
+            }
+            Constructor<E> canonical = recordType.getDeclaredConstructor(componentTypes);
+            canonical.setAccessible(true);
+            this.constructor = lookup.unreflectConstructor(canonical)
+                    .asSpreader(Object[].class, components.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format(RECORD_NOT_ACCESSIBLE_FORMAT_MESSAGE, recordType), e);
+        }
+        this.capacity = startCapacity;
+    }
+
+    /**
+     * Добавляет запись в конец коллекции.
+     *
+     * @param element - добавляемая запись.
+     * @throws IllegalArgumentException - если запись равна null.
+     */
+    @Override
+    public void add(E element) {
+        checkElement(element);
+        ensureCapacity(size + 1);
+        store(size, element);
+        size++;
+    }
+
+    /**
+     * Вставляет запись по индексу, при этом, те записи, индекс которых
+     * больше - смещаются на 1 позицию вправо в каждой колонке.
+     *
+     * @param index   - индекс для вставки записи.
+     * @param element - запись для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     * @throws IllegalArgumentException  - если запись равна null.
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index);
+        checkElement(element);
+        ensureCapacity(size + 1);
+        for (Column column : columns) {
+            column.move(index, index + 1, size - index);
+        }
+        store(index, element);
+        size++;
+    }
+
+    /**
+     * Создает запись из значений колонок с указанным индексом.
+     *
+     * @param index - индекс записи для получения.
+     * @return новая запись, равная сохраненной по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return row(index);
+    }
+
+    /**
+     * Удаляет запись из коллекции с указанным индексом.
+     *
+     * @param index - индекс записи для удаления.
+     * @return возвращает удаленную запись.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        E element = row(index);
+        for (Column column : columns) {
+            column.move(index + 1, index, size - index - 1);
+            column.release(size - 1, size);
+        }
+        size--;
+        return element;
+    }
+
+    /**
+     * Очищает коллекцию.
+     */
+    @Override
+    public void clear() {
+        for (Column column : columns) {
+            column.release(0, size);
+        }
+        size = 0;
+    }
+
+    /**
+     * Сортирует записи в коллекции в естественном порядке.
+     *
+     * @throws ClassCastException - если записи не реализуют Comparable.
+     */
+    @Override
+    public void sort() {
+        E[] elements = toArray();
+        Arrays.sort(elements);
+        for (int i = 0; i < elements.length; i++) {
+            store(i, elements[i]);
+        }
+    }
+
+    /**
+     * Устойчиво сортирует записи в коллекции по заданному компаратору при помощи
+     * SortUtils.timSort. Для сортировки по одному компоненту без создания записей
+     * следует использовать SortUtils.sortByColumn.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     */
+    @Override
+    public void sort(Comparator<E> comparator) {
+        SortUtils.timSort(this, comparator);
+    }
+
+    /**
+     * Возвращает массив типа записей, содержащий все записи коллекции.
+     *
+     * @return массив, содержащий все записи коллекции.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        E[] result = (E[]) Array.newInstance(recordType, size);
+        for (int i = 0; i < size; i++) {
+            result[i] = row(i);
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает размер коллекции (количество записей).
+     *
+     * @return размер коллекции (количество записей).
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Заменяет запись в коллекции с указанным индексом.
+     *
+     * @param index   - индекс заменяемой записи.
+     * @param element - заменяющая запись.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     * @throws IllegalArgumentException  - если запись равна null.
+     */
+    @Override
+    public void set(int index, E element) {
+        checkIndex(index);
+        checkElement(element);
+        store(index, element);
+    }
+
+    /**
+     * Увеличивает вместимость всех колонок так, чтобы в них поместилось не менее
+     * minCapacity записей.
+     *
+     * @param minCapacity - требуемая вместимость.
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > capacity) {
+            int newCapacity = Math.max(minCapacity, (capacity * 3) / 2 + 1);
+            for (Column column : columns) {
+                column.resize(newCapacity);
+            }
+            capacity = newCapacity;
+        }
+    }
+
+    /**
+     * Возвращает последовательный поток значений компонента типа int, short, byte
+     * или char без создания записей.
+     *
+     * @param component - имя компонента записи.
+     * @return поток значений компонента в порядке записей.
+     * @throws IllegalArgumentException - если компонента нет или он не целочисленного типа.
+     */
+    public IntStream intColumn(String component) {
+        return Arrays.stream(columnData(component, int[].class), 0, size);
+    }
+
+    /**
+     * Возвращает последовательный поток значений компонента типа long без создания записей.
+     *
+     * @param component - имя компонента записи.
+     * @return поток значений компонента в порядке записей.
+     * @throws IllegalArgumentException - если компонента нет или он не типа long.
+     */
+    public LongStream longColumn(String component) {
+        return Arrays.stream(columnData(component, long[].class), 0, size);
+    }
+
+    /**
+     * Возвращает последовательный поток значений компонента типа double или float
+     * без создания записей.
+     *
+     * @param component - имя компонента записи.
+     * @return поток значений компонента в порядке записей.
+     * @throws IllegalArgumentException - если компонента нет или он не типа double или float.
+     */
+    public DoubleStream doubleColumn(String component) {
+        if (columnData(component) instanceof float[] floats) {
+            return IntStream.range(0, size).mapToDouble(i -> floats[i]);
+        }
+        return Arrays.stream(columnData(component, double[].class), 0, size);
+    }
+
+    /**
+     * Возвращает последовательный поток значений компонента без создания записей.
+     * Значения примитивных компонентов упаковываются.
+     *
+     * @param component - имя компонента записи.
+     * @return поток значений компонента в порядке записей.
+     * @throws IllegalArgumentException - если компонента нет.
+     */
+    public Stream<?> column(String component) {
+        Column column = findColumn(component);
+        return IntStream.range(0, size).mapToObj(column::get);
+    }
+
+    /**
+     * Возвращает массив колонки компонента: int[] (для int, short, byte и char), long[],
+     * double[], float[], boolean[] или массив ссылок.
+     * Значимы только первые size() элементов массива.
+     *
+     * @param component - имя компонента записи.
+     * @return массив колонки.
+     * @throws IllegalArgumentException - если компонента нет.
+     */
+    Object columnData(String component) {
+        return findColumn(component).data();
+    }
+
+    /**
+     * Переставляет записи в соответствии с перестановкой, перенося каждую колонку
+     * отдельно в новый массив.
+     *
+     * @param order - перестановка: order[i] - индекс записи, которая должна стоять на позиции i.
+     */
+    void permute(int[] order) {
+        for (Column column : columns) {
+            column.permute(order, size);
+        }
+    }
+
+    private <A> A columnData(String component, Class<A> arrayType) {
+        Object data = columnData(component);
+        if (!arrayType.isInstance(data)) {
+            throw new IllegalArgumentException(String.format(COMPONENT_TYPE_FORMAT_MESSAGE, component,
+                    arrayType.getComponentType()));
+        }
+        return arrayType.cast(data);
+    }
+
+    private Column findColumn(String component) {
+        for (Column column : columns) {
+            if (column.name.equals(component)) {
+                return column;
+            }
+        }
+        throw new IllegalArgumentException(String.format(UNKNOWN_COMPONENT_FORMAT_MESSAGE, component));
+    }
+
+    /**
+     * Раскладывает компоненты записи по колонкам в позицию index.
+     */
+    private void store(int index, E element) {
+        try {
+            for (Column column : columns) {
+                column.store(index, element);
+            }
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Создает запись каноническим конструктором из значений колонок в позиции index.
+     */
+    @SuppressWarnings("unchecked")
+    private E row(int index) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(index);
+        }
+        try {
+            return (E) (Object) constructor.invokeExact(values);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index - индекс для проверки.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+    }
+
+    private static void checkElement(Object element) {
+        if (element == null) {
+            throw new IllegalArgumentException(ELEMENT_NOT_NULL);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(e);
+    }
+
+    /**
+     * Создает колонку, подходящую для типа компонента.
+     */
+    private static Column column(String name, Class<?> type, MethodHandle accessor, int capacity) {
+        if (type == int.class || type == short.class || type == byte.class || type == char.class) {
+            return new IntColumn(name, type, accessor, capacity);
+        }
+        if (type == long.class) {
+            return new LongColumn(name, accessor, capacity);
+        }
+        if (type == double.class) {
+            return new DoubleColumn(name, accessor, capacity);
+        }
+        if (type == float.class) {
+            return new FloatColumn(name, accessor, capacity);
+        }
+        if (type == boolean.class) {
+            return new BooleanColumn(name, accessor, capacity);
+        }
+        return new ReferenceColumn(name, type, accessor, capacity);
+    }
+
+    /**
+     * Колонка - массив значений одного компонента записи.
+     */
+    private abstract static class Column {
+        private final String name;
+
+        private Column(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Возвращает массив колонки.
+         */
+        abstract Object data();
+
+        /**
+         * Возвращает значение в позиции index, упаковывая примитивы.
+         */
+        abstract Object get(int index);
+
+        /**
+         * Записывает в позицию index значение компонента записи.
+         */
+        abstract void store(int index, Object record) throws Throwable;
+
+        abstract void resize(int capacity);
+
+        /**
+         * Переносит значения в новый массив в соответствии с перестановкой.
+         */
+        abstract void permute(int[] order, int size);
+
+        /**
+         * Сдвигает length значений с позиции from на позицию to.
+         */
+        void move(int from, int to, int length) {
+            System.arraycopy(data(), from, data(), to, length);
+        }
+
+        /**
+         * Освобождает позиции [from, to), чтобы колонка не удерживала ссылки.
+         */
+        void release(int from, int to) {
+        }
+    }
+
+    /**
+     * Колонка компонента int, short, byte или char; значения меньших типов расширяются
+     * до int при записи и сужаются обратно при создании записи.
+     */
+    private static final class IntColumn extends Column {
+        private final Class<?> type;
+        private final MethodHandle accessor;
+        private int[] values;
+
+        private IntColumn(String name, Class<?> type, MethodHandle accessor, int capacity) {
+            super(name);
+            this.type = type;
+            this.accessor = accessor.asType(MethodType.methodType(int.class, Object.class));
+            this.values = new int[capacity];
+        }
+
+        @Override
+        Object data() {
+            return values;
+        }
+
+        @Override
+        Object get(int index) {
+            int value = values[index];
+            if (type == short.class) {
+                return (short) value;
+            }
+            if (type == byte.class) {
+                return (byte) value;
+            }
+            if (type == char.class) {
+                return (char) value;
+            }
+            return value;
+        }
+
+        @Override
+        void store(int index, Object record) throws Throwable {
+            values[index] = (int) accessor.invokeExact(record);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void permute(int[] order, int size) {
+            int[] permuted = new int[values.length];
+            for (int i = 0; i < size; i++) {
+                permuted[i] = values[order[i]];
+            }
+            values = permuted;
+        }
+    }
+
+    private static final class LongColumn extends Column {
+        private final MethodHandle accessor;
+        private long[] values;
+
+        private LongColumn(String name, MethodHandle accessor, int capacity) {
+            super(name);
+            this.accessor = accessor.asType(MethodType.methodType(long.class, Object.class));
+            this.values = new long[capacity];
+        }
+
+        @Override
+        Object data() {
+            return values;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        void store(int index, Object record) throws Throwable {
+            values[index] = (long) accessor.invokeExact(record);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void permute(int[] order, int size) {
+            long[] permuted = new long[values.length];
+            for (int i = 0; i < size; i++) {
+                permuted[i] = values[order[i]];
+            }
+            values = permuted;
+        }
+    }
+
+    private static final class DoubleColumn extends Column {
+        private final MethodHandle accessor;
+        private double[] values;
+
+        private DoubleColumn(String name, MethodHandle accessor, int capacity) {
+            super(name);
+            this.accessor = accessor.asType(MethodType.methodType(double.class, Object.class));
+            this.values = new double[capacity];
+        }
+
+        @Override
+        Object data() {
+            return values;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        void store(int index, Object record) throws Throwable {
+            values[index] = (double) accessor.invokeExact(record);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void permute(int[] order, int size) {
+            double[] permuted = new double[values.length];
+            for (int i = 0; i < size; i++) {
+                permuted[i] = values[order[i]];
+            }
+            values = permuted;
+        }
+    }
+
+    private static final class FloatColumn extends Column {
+        private final MethodHandle accessor;
+        private float[] values;
+
+        private FloatColumn(String name, MethodHandle accessor, int capacity) {
+            super(name);
+            this.accessor = accessor.asType(MethodType.methodType(float.class, Object.class));
+            this.values = new float[capacity];
+        }
+
+        @Override
+        Object data() {
+            return values;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        void store(int index, Object record) throws Throwable {
+            values[index] = (float) accessor.invokeExact(record);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void permute(int[] order, int size) {
+            float[] permuted = new float[values.length];
+            for (int i = 0; i < size; i++) {
+                permuted[i] = values[order[i]];
+            }
+            values = permuted;
+        }
+    }
+
+    private static final class BooleanColumn extends Column {
+        private final MethodHandle accessor;
+        private boolean[] values;
+
+        private BooleanColumn(String name, MethodHandle accessor, int capacity) {
+            super(name);
+            this.accessor = accessor.asType(MethodType.methodType(boolean.class, Object.class));
+            this.values = new boolean[capacity];
+        }
+
+        @Override
+        Object data() {
+            return values;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        void store(int index, Object record) throws Throwable {
+            values[index] = (boolean) accessor.invokeExact(record);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void permute(int[] order, int size) {
+            boolean[] permuted = new boolean[values.length];
+            for (int i = 0; i < size; i++) {
+                permuted[i] = values[order[i]];
+            }
+            values = permuted;
+        }
+    }
+
+    /**
+     * Колонка ссылочного компонента; массив создается с типом компонента (например, String[]).
+     */
+    private static final class ReferenceColumn extends Column {
+        private final MethodHandle accessor;
+        private Object[] values;
+
+        private ReferenceColumn(String name, Class<?> type, MethodHandle accessor, int capacity) {
+            super(name);
+            this.accessor = accessor.asType(MethodType.methodType(Object.class, Object.class));
+            this.values = (Object[]) Array.newInstance(type, capacity);
+        }
+
+        @Override
+        Object data() {
+            return values;
+        }
+
+        @Override
+        Object get(int index) {
+            return values[index];
+        }
+
+        @Override
+        void store(int index, Object record) throws Throwable {
+            values[index] = (Object) accessor.invokeExact(record);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        void permute(int[] order, int size) {
+            Object[] permuted = (Object[]) Array.newInstance(values.getClass().getComponentType(), values.length);
+            for (int i = 0; i < size; i++) {
+                permuted[i] = values[order[i]];
+            }
+            values = permuted;
+        }
+
+        @Override
+        void release(int from, int to) {
+            Arrays.fill(values, from, to, null);
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Потокобезопасная реализация динамического массива для коллекций, которые
+ * значительно чаще читаются, чем изменяются. Операции чтения (get, size, toArray)
+ * выполняются в режиме оптимистичного чтения StampedLock и не блокируют друг друга;
+ * блокировка на чтение берется только если во время чтения произошла запись.
+ * Операции изменения (add, set, remove, clear, sort и пакетные операции) выполняются
+ * под блокировкой на запись.
+ * Метод snapshot возвращает неизменяемый снимок за O(1), разделяя массив элементов со
+ * снимком; массив копируется только перед первым изменением элементов, видимых снимку.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class ConcurrentCustomArrayList<E> implements CustomArrayList<E> {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException для диапазона.
+     */
+    private static final String RANGE_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "from: %d, to: %d, size: %d";
+    /**
+     * Сообщение при установке отрицательного capacity.
+     */
+    private static final String START_CAPACITY_NOT_LESS_THEN_ZERO = "start capacity must not be less then 0";
+    /**
+     * Стартовый размер коллекции при инициализации.
+     */
+    private static final int START_CAPACITY = 10;
+
+    /**
+     * Блокировка, защищающая elementData и size.
+     */
+    private final StampedLock lock = new StampedLock();
+    /**
+     * Массив для хранения элементов коллекции.
+     */
+    private Object[] elementData;
+    /**
+     * Количество элементов в коллекции.
+     */
+    private int size = 0;
+    /**
+     * Количество первых элементов массива, общих с неизменяемыми снимками.
+     */
+    private int sharedPrefix = 0;
+
+    /**
+     * Конструктор - создание нового объекта и инициализация массива, вместимостью startCapacity.
+     *
+     * @param startCapacity - значение стартовой вместимости
+     * @throws IllegalArgumentException - неверный ввод значения стартовой вместимости.
+     */
+    public ConcurrentCustomArrayList(int startCapacity) {
+        if (startCapacity < 0) {
+            throw new IllegalArgumentException(START_CAPACITY_NOT_LESS_THEN_ZERO);
+        }
+        this.elementData = new Object[startCapacity];
+    }
+
+    /**
+     * Конструктор - создание нового объекта и инициализация массива, вместимостью
+     * для 10 элементов.
+     */
+    public ConcurrentCustomArrayList() {
+        this.elementData = new Object[START_CAPACITY];
+    }
+
+    /**
+     * Добавляет элемент в конец коллекции.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    @Override
+    public void add(E element) {
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacityInternal(size + 1);
+            elementData[size++] = element;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Вставляет элемент по индексу, при этом, те элементы, индекс которых
+     * больше - смещаются на 1 позицию вправо.
+     *
+     * @param index   - индекс для вставки элемента.
+     * @param element - элемент для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            ensureCapacityInternal(size + 1);
+            unshare(index);
+            System.arraycopy(elementData, index, elementData, index + 1, size - index);
+            elementData[index] = element;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу. Не блокирует другие операции чтения.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        Object[] data = elementData;
+        int currentSize = size;
+        Object element = index >= 0 && index < currentSize && index < data.length ? data[index] : null;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                currentSize = size;
+                checkIndex(index, currentSize);
+                return (E) elementData[index];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        checkIndex(index, currentSize);
+        return (E) element;
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом.
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            unshare(index);
+            Object element = elementData[index];
+            System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+            elementData[--size] = null;
+            return (E) element;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Очищает коллекцию.
+     */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            elementData = new Object[START_CAPACITY];
+            size = 0;
+            sharedPrefix = 0;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Сортирует эллементы в коллекции в естественном порядке.
+     */
+    @Override
+    public void sort() {
+        long stamp = lock.writeLock();
+        try {
+            unshare(0);
+            Arrays.sort(elementData, 0, size);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Сортирует элементы в коллекции по заданному компаратору.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<E> comparator) {
+        long stamp = lock.writeLock();
+        try {
+            unshare(0);
+            Arrays.sort((E[]) elementData, 0, size, comparator);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции на момент вызова.
+     * Не блокирует другие операции чтения.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        long stamp = lock.tryOptimisticRead();
+        Object[] data = elementData;
+        int currentSize = size;
+        Object[] result = Arrays.copyOf(data, Math.min(currentSize, data.length));
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                result = Arrays.copyOf(elementData, size);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return (E[]) result;
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов). Не блокирует другие операции чтения.
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int currentSize = size;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                currentSize = size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return currentSize;
+    }
+
+    /**
+     * Заменяет элемент в коллекции с указанным индексом.
+     *
+     * @param index   - индекс позиции для вставки элемента.
+     * @param element - заменяющий элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            unshare(index);
+            elementData[index] = element;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно добавляет все элементы массива в конец коллекции.
+     *
+     * @param elements - массив добавляемых элементов.
+     */
+    @Override
+    public void addAll(E[] elements) {
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacityInternal(size + elements.length);
+            System.arraycopy(elements, 0, elementData, size, elements.length);
+            size += elements.length;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно добавляет все элементы другой коллекции в конец коллекции.
+     *
+     * @param elements - коллекция добавляемых элементов.
+     */
+    @Override
+    public void addAll(CustomArrayList<? extends E> elements) {
+        Object[] array = elements.toArray();
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacityInternal(size + array.length);
+            System.arraycopy(array, 0, elementData, size, array.length);
+            size += array.length;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Атомарно удаляет из коллекции элементы с индексами от from (включительно)
+     * до to (не включительно).
+     *
+     * @param from - индекс первого удаляемого элемента.
+     * @param to   - индекс, следующий за последним удаляемым элементом.
+     * @throws IndexOutOfBoundsException - при неверном диапазоне.
+     *                                   (from < 0 || to > size() || from > to)
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        long stamp = lock.writeLock();
+        try {
+            if (from < 0 || to > size || from > to) {
+                throw new IndexOutOfBoundsException(String.format(RANGE_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, from, to, size));
+            }
+            unshare(from);
+            System.arraycopy(elementData, to, elementData, from, size - to);
+            int newSize = size - (to - from);
+            Arrays.fill(elementData, newSize, size, null);
+            size = newSize;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Увеличивает вместимость коллекции, если это необходимо, чтобы она могла
+     * хранить не менее minCapacity элементов без повторного выделения памяти.
+     *
+     * @param minCapacity - требуемая минимальная вместимость.
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        long stamp = lock.writeLock();
+        try {
+            ensureCapacityInternal(minCapacity);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает индекс первого элемента, равного указанному (по equals). Массив
+     * просматривается под блокировкой на чтение.
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return индекс первого равного элемента или -1, если такого элемента нет.
+     */
+    @Override
+    public int indexOf(Object element) {
+        long stamp = lock.readLock();
+        try {
+            return indexOfInternal(element);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Возвращает индекс последнего элемента, равного указанному (по equals). Массив
+     * просматривается под блокировкой на чтение.
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return индекс последнего равного элемента или -1, если такого элемента нет.
+     */
+    @Override
+    public int lastIndexOf(Object element) {
+        long stamp = lock.readLock();
+        try {
+            for (int i = size - 1; i >= 0; i--) {
+                if (Objects.equals(element, elementData[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Удаляет из коллекции первый элемент, равный указанному (по equals). Поиск и
+     * удаление выполняются под одной блокировкой на запись.
+     *
+     * @param element - удаляемый элемент, может быть null.
+     * @return true, если элемент был найден и удален.
+     */
+    @Override
+    public boolean removeElement(Object element) {
+        long stamp = lock.writeLock();
+        try {
+            int index = indexOfInternal(element);
+            if (index < 0) {
+                return false;
+            }
+            unshare(index);
+            System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+            elementData[--size] = null;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает неизменяемый снимок коллекции за O(1) без копирования элементов.
+     * Массив копируется при первом изменении элемента, видимого снимку.
+     *
+     * @return неизменяемый снимок коллекции.
+     */
+    @Override
+    public CustomArrayList<E> snapshot() {
+        long stamp = lock.writeLock();
+        try {
+            sharedPrefix = Math.max(sharedPrefix, size);
+            return new ArraySnapshot<>(elementData, size);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Возвращает итератор по снимку элементов коллекции на момент вызова.
+     * Последующие изменения коллекции на обход не влияют.
+     *
+     * @return итератор по элементам коллекции.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Возвращает Spliterator по снимку элементов коллекции на момент вызова.
+     *
+     * @return Spliterator по элементам коллекции.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Arrays.spliterator(toArray());
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index       - индекс для проверки.
+     * @param currentSize - размер коллекции, относительно которого проверяется индекс.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     */
+    private static void checkIndex(int index, int currentSize) {
+        if (index < 0 || index >= currentSize) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, currentSize));
+        }
+    }
+
+    /**
+     * Возвращает индекс первого элемента, равного указанному. Вызывается только под блокировкой.
+     *
+     * @param element - искомый элемент.
+     * @return индекс первого равного элемента или -1, если такого элемента нет.
+     */
+    private int indexOfInternal(Object element) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element, elementData[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Копирует массив элементов, если элемент с индексом position виден снимкам.
+     * Вызывается только под блокировкой на запись.
+     *
+     * @param position - индекс первого изменяемого элемента.
+     */
+    private void unshare(int position) {
+        if (position < sharedPrefix) {
+            elementData = Arrays.copyOf(elementData, elementData.length);
+            sharedPrefix = 0;
+        }
+    }
+
+    /**
+     * Увеличивает вместимость массива путем создания нового массива большего
+     * размера и копирования в него всех элементов из первоначального массива.
+     * Вызывается только под блокировкой на запись.
+     *
+     * @param minCapacity - требуемая минимальная вместимость.
+     */
+    private void ensureCapacityInternal(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            elementData = Arrays.copyOf(elementData, Math.max((elementData.length * 3) / 2 + 1, minCapacity));
+            sharedPrefix = 0;
+        }
+    }
+}
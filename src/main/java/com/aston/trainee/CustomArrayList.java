@@ -1,6 +1,15 @@
 package com.aston.trainee;
 
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Коллекция элементов, расположенных поледовательно. Пользователь может получить
@@ -9,13 +18,16 @@ import java.util.Comparator;
  * добавления элементов по индексу, получения элементов по индексу, удаления
  * элементов по индексу, удаления всех элементов из коллекции, сортировки
  * коллекции по естественному порядку и при помощи компаратора, преобразования
- * коллекции в массив объектов параметризованного типа.
+ * коллекции в массив объектов параметризованного типа, последовательного
+ * и параллельного обхода элементов при помощи Iterator, Spliterator и Stream,
+ * поиска и удаления элементов по значению, получения неизменяемых снимков,
+ * а также записи снимка коллекции в канал NIO и чтения его обратно.
  *
  * @param <E> - тип элементов в коллекции
  * @author Siarhei Zmushko
  * @version 1.0
  */
-public interface CustomArrayList<E> {
+public interface CustomArrayList<E> extends Iterable<E> {
 
     /**
      * Добавляет элемент в конец коллекции.
@@ -95,4 +107,235 @@ public interface CustomArrayList<E> {
      *                                   (index < 0 || index >= size())
      */
     void set(int index, E element);
+
+    /**
+     * Добавляет все элементы массива в конец коллекции в порядке их следования.
+     *
+     * @param elements - массив добавляемых элементов.
+     */
+    default void addAll(E[] elements) {
+        for (E element : elements) {
+            add(element);
+        }
+    }
+
+    /**
+     * Добавляет все элементы другой коллекции в конец коллекции в порядке их следования.
+     *
+     * @param elements - коллекция добавляемых элементов.
+     */
+    default void addAll(CustomArrayList<? extends E> elements) {
+        for (int i = 0, count = elements.size(); i < count; i++) {
+            add(elements.get(i));
+        }
+    }
+
+    /**
+     * Вставляет все элементы массива начиная с указанного индекса, при этом элементы,
+     * индекс которых больше или равен index, смещаются вправо на длину массива.
+     *
+     * @param index    - индекс для вставки первого элемента.
+     * @param elements - массив вставляемых элементов.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    default void addAll(int index, E[] elements) {
+        for (int i = 0; i < elements.length; i++) {
+            add(index + i, elements[i]);
+        }
+    }
+
+    /**
+     * Вставляет все элементы другой коллекции начиная с указанного индекса, при этом
+     * элементы, индекс которых больше или равен index, смещаются вправо на размер
+     * вставляемой коллекции.
+     *
+     * @param index    - индекс для вставки первого элемента.
+     * @param elements - коллекция вставляемых элементов.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    default void addAll(int index, CustomArrayList<? extends E> elements) {
+        for (int i = 0, count = elements.size(); i < count; i++) {
+            add(index + i, elements.get(i));
+        }
+    }
+
+    /**
+     * Удаляет из коллекции элементы с индексами от from (включительно) до to
+     * (не включительно), элементы справа от диапазона смещаются влево.
+     *
+     * @param from - индекс первого удаляемого элемента.
+     * @param to   - индекс, следующий за последним удаляемым элементом.
+     * @throws IndexOutOfBoundsException - при неверном диапазоне.
+     *                                   (from < 0 || to > size() || from > to)
+     */
+    default void removeRange(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException(String.format("from: %d, to: %d, size: %d", from, to, size()));
+        }
+        for (int i = to - 1; i >= from; i--) {
+            remove(i);
+        }
+    }
+
+    /**
+     * Возвращает индекс первого элемента, равного указанному (по equals).
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return индекс первого равного элемента или -1, если такого элемента нет.
+     */
+    default int indexOf(Object element) {
+        for (int i = 0, count = size(); i < count; i++) {
+            if (Objects.equals(element, get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает индекс последнего элемента, равного указанному (по equals).
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return индекс последнего равного элемента или -1, если такого элемента нет.
+     */
+    default int lastIndexOf(Object element) {
+        for (int i = size() - 1; i >= 0; i--) {
+            if (Objects.equals(element, get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, содержит ли коллекция элемент, равный указанному (по equals).
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return true, если коллекция содержит равный элемент.
+     */
+    default boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Удаляет из коллекции первый элемент, равный указанному (по equals), при этом
+     * элементы, индекс которых больше, смещаются на 1 позицию влево.
+     *
+     * @param element - удаляемый элемент, может быть null.
+     * @return true, если элемент был найден и удален.
+     */
+    default boolean removeElement(Object element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Возвращает неизменяемый снимок коллекции: последующие изменения коллекции на снимок
+     * не влияют, а сам снимок можно читать из других потоков параллельно с изменениями.
+     * Реализация по умолчанию копирует элементы при помощи toArray; реализации, хранящие
+     * элементы в массиве или в дереве, возвращают снимок без копирования и копируют
+     * только изменяемые после снимка части.
+     *
+     * @return неизменяемый снимок коллекции.
+     */
+    default CustomArrayList<E> snapshot() {
+        Object[] elements = toArray();
+        return new ArraySnapshot<>(elements, elements.length);
+    }
+
+    /**
+     * Увеличивает вместимость коллекции, если это необходимо, чтобы она могла
+     * хранить не менее minCapacity элементов без повторного выделения памяти.
+     * Реализации без ограничения вместимости могут игнорировать вызов.
+     *
+     * @param minCapacity - требуемая минимальная вместимость.
+     */
+    default void ensureCapacity(int minCapacity) {
+    }
+
+    /**
+     * Возвращает итератор по элементам коллекции в порядке их индексов.
+     *
+     * @return итератор по элементам коллекции.
+     */
+    @Override
+    default Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size();
+            }
+
+            @Override
+            public E next() {
+                if (cursor >= size()) {
+                    throw new NoSuchElementException();
+                }
+                return get(cursor++);
+            }
+        };
+    }
+
+    /**
+     * Возвращает Spliterator по элементам коллекции с характеристиками
+     * ORDERED, SIZED и SUBSIZED, который делит коллекцию на равные части.
+     *
+     * @return Spliterator по элементам коллекции.
+     */
+    @Override
+    default Spliterator<E> spliterator() {
+        return new CustomArrayListSpliterator<>(this, 0, size());
+    }
+
+    /**
+     * Возвращает последовательный поток элементов коллекции.
+     *
+     * @return поток элементов коллекции.
+     */
+    default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Возвращает параллельный поток элементов коллекции.
+     *
+     * @return параллельный поток элементов коллекции.
+     */
+    default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Записывает снимок коллекции в канал в двоичном формате: заголовок с количеством
+     * записей и записи фиксированной длины, закодированные кодеком. Элементы кодируются
+     * порциями в прямой буфер без копирования всей коллекции.
+     *
+     * @param channel - канал для записи.
+     * @param codec   - кодек элементов.
+     * @return количество записанных байт.
+     * @throws IOException - при ошибке записи.
+     */
+    default long writeTo(WritableByteChannel channel, RecordCodec<? super E> codec) throws IOException {
+        return ChannelSnapshot.write(this, channel, codec);
+    }
+
+    /**
+     * Читает снимок, записанный методом writeTo, из канала и добавляет его элементы
+     * в конец коллекции.
+     *
+     * @param channel - канал для чтения.
+     * @param codec   - кодек элементов, размер записи которого совпадает с размером в снимке.
+     * @throws IOException - при ошибке чтения или несовместимом формате снимка.
+     */
+    default void readFrom(ReadableByteChannel channel, RecordCodec<? extends E> codec) throws IOException {
+        ChannelSnapshot.read(this, channel, codec);
+    }
 }
@@ -2,11 +2,26 @@ package com.aston.trainee;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 
 /**
  * Реализация динамического массива. Имплементация CustomArrayList интерфейса.
  * Реализует основные операции для взаимодействия с динамическим массивом. Принимает
  * элементы любого типа, включая null.
+ * По запросу (enableIndex) коллекция ведет хеш-индекс позиций элементов, который
+ * обновляется при каждом изменении и позволяет выполнять indexOf, lastIndexOf, contains
+ * и removeElement за ожидаемое O(1) вместо линейного просмотра массива.
+ * Метод snapshot возвращает неизменяемый снимок за O(1), разделяя массив элементов со
+ * снимком; массив копируется только перед первым изменением элементов, видимых снимку.
+ * Добавление в конец коллекции снимок не затрагивает и массив не копирует.
+ * Коллекция, созданная с пулом массивов (ArrayPool), берет массивы из пула при создании
+ * и увеличении вместимости и возвращает в пул освободившиеся массивы при увеличении
+ * вместимости, очистке и вызове release.
  *
  * @param <E> - тип элементов в коллекции/
  * @author Siarhei Zmushko
@@ -22,6 +37,16 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      * Сообщение при установке отрицательного capacity.
      */
     private static final String START_CAPACITY_NOT_LESS_THEN_ZERO = "start capacity must not be less then 0";
+
+    /**
+     * Сообщение при передаче null в качестве политики увеличения вместимости.
+     */
+    private static final String GROWTH_POLICY_NOT_NULL = "growth policy must not be null";
+
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException для диапазона.
+     */
+    private static final String RANGE_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "from: %d, to: %d, size: %d";
     /**
      * Массив для хранения элементов коллекции.
      */
@@ -34,11 +59,27 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      * Стартовый размер коллекции при инициализации.
      */
     private static final int START_CAPACITY = 10;
-
     /**
-     * Размер массива для хранения элементов.
+     * Политика увеличения вместимости массива.
      */
-    private int capacity = 0;
+    private final GrowthPolicy growthPolicy;
+    /**
+     * Признак сохранения вместимости массива при очистке коллекции.
+     */
+    private final boolean keepCapacityOnClear;
+    /**
+     * Хеш-индекс позиций элементов или null, если индекс выключен.
+     */
+    private ElementIndex elementIndex;
+    /**
+     * Количество первых элементов массива, общих с неизменяемыми снимками. Перед изменением
+     * элемента с меньшим индексом массив копируется.
+     */
+    private int sharedPrefix = 0;
+    /**
+     * Пул массивов или null, если массивы создаются и освобождаются без пула.
+     */
+    private final ArrayPool arrayPool;
 
     /**
      * Конструктор - создание нового объекта и инициализация массива, вместимостью startCapacity.
@@ -47,8 +88,45 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      * @throws IllegalArgumentException - неверный ввод значения стартовой вместимости.
      */
     public CustomArrayListImpl(int startCapacity) {
+        this(startCapacity, GrowthPolicy.DEFAULT, false);
+    }
+
+    /**
+     * Конструктор - создание нового объекта и инициализация массива, вместимостью startCapacity,
+     * с заданной политикой увеличения вместимости.
+     *
+     * @param startCapacity       - значение стартовой вместимости
+     * @param growthPolicy        - политика увеличения вместимости массива.
+     * @param keepCapacityOnClear - сохранять ли вместимость массива при очистке коллекции.
+     * @throws IllegalArgumentException - неверный ввод значения стартовой вместимости или
+     *                                  политики увеличения вместимости.
+     */
+    public CustomArrayListImpl(int startCapacity, GrowthPolicy growthPolicy, boolean keepCapacityOnClear) {
+        this(startCapacity, growthPolicy, keepCapacityOnClear, null);
+    }
+
+    /**
+     * Конструктор - создание нового объекта, берущего массивы для хранения элементов из
+     * пула и возвращающего их в пул. Вместимость массива из пула может превышать
+     * запрошенную (округляется до размера класса пула).
+     *
+     * @param startCapacity       - значение стартовой вместимости
+     * @param growthPolicy        - политика увеличения вместимости массива.
+     * @param keepCapacityOnClear - сохранять ли вместимость массива при очистке коллекции.
+     * @param arrayPool           - пул массивов или null, чтобы работать без пула.
+     * @throws IllegalArgumentException - неверный ввод значения стартовой вместимости или
+     *                                  политики увеличения вместимости.
+     */
+    public CustomArrayListImpl(int startCapacity, GrowthPolicy growthPolicy, boolean keepCapacityOnClear,
+                               ArrayPool arrayPool) {
+        if (growthPolicy == null) {
+            throw new IllegalArgumentException(GROWTH_POLICY_NOT_NULL);
+        }
+        this.growthPolicy = growthPolicy;
+        this.keepCapacityOnClear = keepCapacityOnClear;
+        this.arrayPool = arrayPool;
         if (startCapacity > 0) {
-            this.elementData = new Object[startCapacity];
+            this.elementData = allocate(startCapacity);
         } else if (startCapacity == 0) {
             this.elementData = new Object[0];
         } else {
@@ -61,7 +139,7 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      * для 10 элементов.
      */
     public CustomArrayListImpl() {
-        this.elementData = new Object[START_CAPACITY];
+        this(START_CAPACITY);
     }
 
     /**
@@ -71,8 +149,11 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      */
     @Override
     public void add(E element) {
-        if (size >= capacity) {
-            ensureCapacity();
+        if (size == elementData.length) {
+            grow(size + 1);
+        }
+        if (elementIndex != null) {
+            elementIndex.add(element, size);
         }
         elementData[size++] = element;
     }
@@ -87,17 +168,22 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      *                                   (index < 0 || index >= size())
      */
     @Override
-    public void add(int index, Object element) {
+    public void add(int index, E element) {
         checkIndex(index);
-        if (capacity <= index) {
-            ensureCapacity();
+        if (size == elementData.length) {
+            grow(size + 1);
         }
-        checkIndex(index);
-        for (int i = elementData.length - 1; i > index; i--) {
-            elementData[i] = elementData[i - 1];
+        unshare(index);
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        if (CollectionMetrics.isEnabled()) {
+            CollectionMetrics.recordCopy(size - index);
         }
         elementData[index] = element;
         size++;
+        if (elementIndex != null) {
+            elementIndex.shift(elementData, index + 1, size, 1);
+            elementIndex.add(element, index);
+        }
     }
 
     /**
@@ -126,18 +212,53 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
     public E remove(int index) {
         Object element = elementData[index];
         int elToCopy = size - index - 1;
+        if (elToCopy >= 0) {
+            unshare(index);
+        }
         System.arraycopy(elementData, index + 1, elementData, index, elToCopy);
-        size--;
+        if (CollectionMetrics.isEnabled()) {
+            CollectionMetrics.recordCopy(elToCopy);
+        }
+        if (elementIndex != null) {
+            elementIndex.remove(element, index);
+            elementIndex.shift(elementData, index, size - 1, -1);
+        }
+        elementData[--size] = null;
         return (E) element;
     }
 
     /**
-     * Очищает коллекцию.
+     * Очищает коллекцию. Если коллекция создана с сохранением вместимости при очистке
+     * или вместимость не превышает стартовую, массив переиспользуется, иначе заменяется
+     * массивом стартовой вместимости.
      */
     @Override
     public void clear() {
-        elementData = new Object[START_CAPACITY];
+        if (sharedPrefix > 0) {
+            elementData = allocate(keepCapacityOnClear ? elementData.length : START_CAPACITY);
+            sharedPrefix = 0;
+        } else if (keepCapacityOnClear || elementData.length <= START_CAPACITY) {
+            Arrays.fill(elementData, 0, size, null);
+        } else {
+            recycle(elementData, size);
+            elementData = allocate(START_CAPACITY);
+        }
         size = 0;
+        if (elementIndex != null) {
+            elementIndex.clear();
+        }
+    }
+
+    /**
+     * Уменьшает вместимость массива до текущего размера коллекции.
+     */
+    public void trimToSize() {
+        if (size < elementData.length) {
+            Object[] trimmed = Arrays.copyOf(elementData, size);
+            recycle(elementData, size);
+            elementData = trimmed;
+            sharedPrefix = 0;
+        }
     }
 
     /**
@@ -145,7 +266,9 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      */
     @Override
     public void sort() {
+        unshare(0);
         Arrays.sort(elementData, 0, size);
+        elementsReordered();
     }
 
     /**
@@ -158,6 +281,12 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      */
     @Override
     public void set(int index, E element) {
+        unshare(index);
+        if (elementIndex != null) {
+            checkIndex(index);
+            elementIndex.remove(elementData[index], index);
+            elementIndex.add(element, index);
+        }
         elementData[index] = element;
     }
 
@@ -169,7 +298,9 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
      */
     @Override
     public void sort(Comparator<E> comparator) {
+        unshare(0);
         Arrays.sort((E[]) elementData, 0, size, comparator);
+        elementsReordered();
     }
 
     /**
@@ -191,6 +322,400 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
         return (E[]) Arrays.copyOf(elementData, size);
     }
 
+    /**
+     * Добавляет все элементы массива в конец коллекции. Выполняет не более одного
+     * увеличения вместимости и одного копирования.
+     *
+     * @param elements - массив добавляемых элементов.
+     */
+    @Override
+    public void addAll(E[] elements) {
+        appendAll(elements, elements.length);
+    }
+
+    /**
+     * Добавляет все элементы другой коллекции в конец коллекции. Выполняет не более
+     * одного увеличения вместимости и одного копирования.
+     *
+     * @param elements - коллекция добавляемых элементов.
+     */
+    @Override
+    public void addAll(CustomArrayList<? extends E> elements) {
+        if (elements instanceof CustomArrayListImpl<?> other && other != this) {
+            appendAll(other.elementData, other.size);
+        } else {
+            Object[] array = elements.toArray();
+            appendAll(array, array.length);
+        }
+    }
+
+    /**
+     * Вставляет все элементы массива начиная с указанного индекса. Хвост коллекции
+     * сдвигается одним копированием.
+     *
+     * @param index    - индекс для вставки первого элемента.
+     * @param elements - массив вставляемых элементов.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void addAll(int index, E[] elements) {
+        insertAll(index, elements, elements.length);
+    }
+
+    /**
+     * Вставляет все элементы другой коллекции начиная с указанного индекса. Хвост
+     * коллекции сдвигается одним копированием.
+     *
+     * @param index    - индекс для вставки первого элемента.
+     * @param elements - коллекция вставляемых элементов.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void addAll(int index, CustomArrayList<? extends E> elements) {
+        if (elements instanceof CustomArrayListImpl<?> other && other != this) {
+            insertAll(index, other.elementData, other.size);
+        } else {
+            Object[] array = elements.toArray();
+            insertAll(index, array, array.length);
+        }
+    }
+
+    /**
+     * Удаляет из коллекции элементы с индексами от from (включительно) до to
+     * (не включительно) одним копированием хвоста.
+     *
+     * @param from - индекс первого удаляемого элемента.
+     * @param to   - индекс, следующий за последним удаляемым элементом.
+     * @throws IndexOutOfBoundsException - при неверном диапазоне.
+     *                                   (from < 0 || to > size() || from > to)
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(String.format(RANGE_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, from, to, size));
+        }
+        int newSize = size - (to - from);
+        unshare(from);
+        if (elementIndex != null) {
+            for (int i = from; i < to; i++) {
+                elementIndex.remove(elementData[i], i);
+            }
+        }
+        System.arraycopy(elementData, to, elementData, from, size - to);
+        if (CollectionMetrics.isEnabled()) {
+            CollectionMetrics.recordCopy(size - to);
+        }
+        if (elementIndex != null) {
+            elementIndex.shift(elementData, from, newSize, from - to);
+        }
+        Arrays.fill(elementData, newSize, size, null);
+        size = newSize;
+    }
+
+    /**
+     * Очищает коллекцию и возвращает массив элементов в пул (если он задан и массив
+     * не используется снимками). Коллекция остается пригодной для использования и
+     * получит новый массив при следующем добавлении элемента.
+     */
+    public void release() {
+        recycle(elementData, size);
+        elementData = new Object[0];
+        size = 0;
+        sharedPrefix = 0;
+        if (elementIndex != null) {
+            elementIndex.clear();
+        }
+    }
+
+    /**
+     * Увеличивает вместимость коллекции, если это необходимо, чтобы она могла
+     * хранить не менее minCapacity элементов без повторного выделения памяти.
+     *
+     * @param minCapacity - требуемая минимальная вместимость.
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Добавляет первые count элементов массива в конец коллекции. Массив не должен
+     * быть массивом элементов этой коллекции.
+     *
+     * @param elements - массив добавляемых элементов.
+     * @param count    - количество добавляемых элементов.
+     */
+    void appendAll(Object[] elements, int count) {
+        ensureCapacity(size + count);
+        System.arraycopy(elements, 0, elementData, size, count);
+        if (elementIndex != null) {
+            for (int i = size; i < size + count; i++) {
+                elementIndex.add(elementData[i], i);
+            }
+        }
+        size += count;
+    }
+
+    /**
+     * Вставляет первые count элементов массива начиная с указанного индекса. Если
+     * вместимости не хватает, элементы сразу раскладываются по новому массиву,
+     * чтобы не копировать хвост коллекции дважды.
+     *
+     * @param index    - индекс для вставки первого элемента.
+     * @param elements - массив вставляемых элементов.
+     * @param count    - количество вставляемых элементов.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    private void insertAll(int index, Object[] elements, int count) {
+        checkIndex(index);
+        int newSize = size + count;
+        if (newSize > elementData.length) {
+            Object[] newArray = allocate(growthPolicy.newCapacity(elementData.length, newSize));
+            System.arraycopy(elementData, 0, newArray, 0, index);
+            System.arraycopy(elementData, index, newArray, index + count, size - index);
+            if (CollectionMetrics.isEnabled()) {
+                CollectionMetrics.recordResize(elementData.length, newArray.length, size);
+            }
+            recycle(elementData, size);
+            elementData = newArray;
+            sharedPrefix = 0;
+        } else {
+            unshare(index);
+            System.arraycopy(elementData, index, elementData, index + count, size - index);
+            if (CollectionMetrics.isEnabled()) {
+                CollectionMetrics.recordCopy(size - index);
+            }
+        }
+        System.arraycopy(elements, 0, elementData, index, count);
+        if (elementIndex != null) {
+            elementIndex.shift(elementData, index + count, newSize, count);
+            for (int i = index; i < index + count; i++) {
+                elementIndex.add(elementData[i], i);
+            }
+        }
+        size = newSize;
+    }
+
+    /**
+     * Включает хеш-индекс позиций элементов и строит его по текущему содержимому за O(n).
+     * После этого indexOf, lastIndexOf, contains и removeElement выполняют поиск по индексу,
+     * а все изменения коллекции дополнительно обновляют индекс. Элементы не должны менять
+     * свои equals и hashCode, пока находятся в коллекции.
+     */
+    public void enableIndex() {
+        if (elementIndex == null) {
+            elementIndex = new ElementIndex();
+            elementIndex.rebuild(elementData, size);
+        }
+    }
+
+    /**
+     * Выключает хеш-индекс позиций элементов и освобождает занимаемую им память.
+     */
+    public void disableIndex() {
+        elementIndex = null;
+    }
+
+    /**
+     * Проверяет, включен ли хеш-индекс позиций элементов.
+     *
+     * @return true, если индекс включен.
+     */
+    public boolean isIndexEnabled() {
+        return elementIndex != null;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, равного указанному (по equals). При включенном
+     * индексе поиск выполняется по хеш-индексу, иначе - просмотром массива.
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return индекс первого равного элемента или -1, если такого элемента нет.
+     */
+    @Override
+    public int indexOf(Object element) {
+        if (elementIndex != null) {
+            return elementIndex.first(element);
+        }
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element, elementData[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Возвращает индекс последнего элемента, равного указанному (по equals). При включенном
+     * индексе поиск выполняется по хеш-индексу, иначе - просмотром массива с конца.
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return индекс последнего равного элемента или -1, если такого элемента нет.
+     */
+    @Override
+    public int lastIndexOf(Object element) {
+        if (elementIndex != null) {
+            return elementIndex.last(element);
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(element, elementData[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Проверяет, содержит ли коллекция элемент, равный указанному (по equals).
+     *
+     * @param element - искомый элемент, может быть null.
+     * @return true, если коллекция содержит равный элемент.
+     */
+    @Override
+    public boolean contains(Object element) {
+        return elementIndex != null ? elementIndex.contains(element) : indexOf(element) >= 0;
+    }
+
+    /**
+     * Возвращает неизменяемый снимок коллекции за O(1). Снимок разделяет массив элементов
+     * с коллекцией; массив копируется один раз, при первом изменении элемента, видимого
+     * снимку, и только если коллекция не успела перейти на новый массив при увеличении
+     * вместимости. Добавление элементов в конец массив не копирует.
+     *
+     * @return неизменяемый снимок коллекции.
+     */
+    @Override
+    public CustomArrayList<E> snapshot() {
+        sharedPrefix = Math.max(sharedPrefix, size);
+        return new ArraySnapshot<>(elementData, size);
+    }
+
+    /**
+     * Сообщает коллекции, что элементы были переставлены непосредственно в массиве;
+     * при включенном индексе он строится заново. Вызывается SortUtils после сортировки
+     * массива, полученного методом elementData.
+     */
+    void elementsReordered() {
+        if (elementIndex != null) {
+            elementIndex.rebuild(elementData, size);
+        }
+    }
+
+    /**
+     * Возвращает итератор, читающий элементы непосредственно из массива без проверки индекса.
+     *
+     * @return итератор по элементам коллекции.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int cursor = 0;
+
+            @Override
+            public boolean hasNext() {
+                return cursor < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (cursor >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (E) elementData[cursor++];
+            }
+        };
+    }
+
+    /**
+     * Выполняет действие для каждого элемента коллекции, читая элементы непосредственно из массива.
+     *
+     * @param action - действие для каждого элемента.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Object[] data = elementData;
+        for (int i = 0, count = size; i < count; i++) {
+            action.accept((E) data[i]);
+        }
+    }
+
+    /**
+     * Возвращает Spliterator по массиву элементов с характеристиками ORDERED, SIZED
+     * и SUBSIZED, который делит коллекцию на равные части без копирования.
+     *
+     * @return Spliterator по элементам коллекции.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(elementData, 0, size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Возвращает массив, в котором хранятся элементы коллекции. Значимы только
+     * первые size() элементов. Метод доступен только внутри пакета: SortUtils сортирует
+     * массив непосредственно и затем вызывает elementsReordered. Так как вызывающий код
+     * может изменять массив, массив, общий со снимками, предварительно копируется.
+     *
+     * @return массив для хранения элементов коллекции.
+     */
+    Object[] elementData() {
+        unshare(0);
+        return elementData;
+    }
+
+    /**
+     * Возвращает текущую вместимость массива для хранения элементов.
+     *
+     * @return вместимость массива.
+     */
+    int capacity() {
+        return elementData.length;
+    }
+
+    /**
+     * Копирует массив элементов, если элемент с индексом position виден снимкам.
+     *
+     * @param position - индекс первого изменяемого элемента.
+     */
+    private void unshare(int position) {
+        if (position < sharedPrefix) {
+            Object[] copy = allocate(elementData.length);
+            System.arraycopy(elementData, 0, copy, 0, size);
+            elementData = copy;
+            sharedPrefix = 0;
+        }
+    }
+
+    /**
+     * Создает массив не меньше требуемой вместимости или берет его из пула.
+     *
+     * @param capacity - требуемая вместимость.
+     * @return массив, заполненный null.
+     */
+    private Object[] allocate(int capacity) {
+        return arrayPool != null ? arrayPool.borrow(capacity) : new Object[capacity];
+    }
+
+    /**
+     * Возвращает массив в пул, если пул задан и массив не используется снимками.
+     * Вызывается до замены массива коллекции.
+     *
+     * @param array - освобождаемый массив.
+     * @param used  - количество заполненных элементов массива.
+     */
+    private void recycle(Object[] array, int used) {
+        if (arrayPool != null && sharedPrefix == 0) {
+            arrayPool.release(array, used);
+        }
+    }
+
     /**
      * Проверяет индекс массива.
      *
@@ -207,12 +732,20 @@ public class CustomArrayListImpl<E> implements CustomArrayList<E> {
     /**
      * Увеличивает вместимость массива путем создания нового массива большего
      * размера и копирования в него всех элементов из первоначального массива.
+     * Новая вместимость определяется политикой увеличения вместимости.
+     * При включенных метриках увеличение учитывается в CollectionMetrics.
+     *
+     * @param minCapacity - требуемая минимальная вместимость.
      */
-    private void ensureCapacity() {
-        int newCapacity = (capacity * 3) / 2 + 1;
-        capacity = newCapacity;
-        Object[] newArray = new Object[newCapacity];
+    private void grow(int minCapacity) {
+        int newCapacity = growthPolicy.newCapacity(elementData.length, minCapacity);
+        Object[] newArray = allocate(newCapacity);
         System.arraycopy(elementData, 0, newArray, 0, size);
+        if (CollectionMetrics.isEnabled()) {
+            CollectionMetrics.recordResize(elementData.length, newArray.length, size);
+        }
+        recycle(elementData, size);
         elementData = newArray;
+        sharedPrefix = 0;
     }
 }
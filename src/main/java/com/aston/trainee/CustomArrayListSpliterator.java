@@ -0,0 +1,80 @@
+package com.aston.trainee;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator для произвольной реализации CustomArrayList, обращающийся к элементам
+ * по индексу через метод get. Делит диапазон индексов пополам, поэтому части
+ * получаются равными по размеру. Используется реализациями, не имеющими доступа
+ * к массиву элементов.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class CustomArrayListSpliterator<E> implements Spliterator<E> {
+    /**
+     * Коллекция, элементы которой обходятся.
+     */
+    private final CustomArrayList<E> source;
+    /**
+     * Индекс следующего элемента.
+     */
+    private int index;
+    /**
+     * Индекс, следующий за последним элементом диапазона.
+     */
+    private final int fence;
+
+    /**
+     * Конструктор - создание Spliterator для диапазона [from, fence) коллекции.
+     *
+     * @param source - коллекция, элементы которой обходятся.
+     * @param from   - индекс первого элемента.
+     * @param fence  - индекс, следующий за последним элементом.
+     */
+    CustomArrayListSpliterator(CustomArrayList<E> source, int from, int fence) {
+        this.source = source;
+        this.index = from;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(source.get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        for (int i = index; i < fence; i++) {
+            action.accept(source.get(i));
+        }
+        index = fence;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        int middle = (index + fence) >>> 1;
+        if (middle <= index) {
+            return null;
+        }
+        Spliterator<E> prefix = new CustomArrayListSpliterator<>(source, index, middle);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
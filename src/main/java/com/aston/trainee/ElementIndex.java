@@ -0,0 +1,179 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Хеш-индекс позиций элементов коллекции, хранящей элементы в массиве: для каждого
+ * различного элемента (по equals) хранится набор индексов, по которым он находится.
+ * Позволяет находить элемент за ожидаемое O(1 + k), где k - количество равных ему
+ * элементов, вместо линейного просмотра массива. Индекс обновляется коллекцией при каждом
+ * изменении: добавлении, замене и удалении элементов и сдвиге хвоста массива.
+ * Допускает элемент null.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class ElementIndex {
+    /**
+     * Наборы позиций по элементам.
+     */
+    private final Map<Object, Positions> positions = new HashMap<>();
+    /**
+     * Номер текущего сдвига; помечает наборы позиций, уже исправленные при сдвиге.
+     */
+    private int shiftStamp = 0;
+
+    /**
+     * Добавляет позицию элемента.
+     *
+     * @param element  - элемент.
+     * @param position - индекс элемента в массиве.
+     */
+    void add(Object element, int position) {
+        positions.computeIfAbsent(element, key -> new Positions()).add(position);
+    }
+
+    /**
+     * Удаляет позицию элемента.
+     *
+     * @param element  - элемент.
+     * @param position - индекс элемента в массиве.
+     */
+    void remove(Object element, int position) {
+        Positions elementPositions = positions.get(element);
+        if (elementPositions != null && elementPositions.remove(position) && elementPositions.count == 0) {
+            positions.remove(element);
+        }
+    }
+
+    /**
+     * Исправляет позиции элементов после сдвига части массива. Элементы, стоящие после
+     * сдвига на позициях [from, to), раньше стояли на позициях [from - delta, to - delta).
+     * Каждый набор позиций исправляется один раз, независимо от количества равных
+     * элементов в сдвинутой части.
+     *
+     * @param data  - массив элементов после сдвига.
+     * @param from  - индекс первого сдвинутого элемента после сдвига.
+     * @param to    - индекс, следующий за последним сдвинутым элементом после сдвига.
+     * @param delta - величина сдвига: положительная при сдвиге вправо, отрицательная - влево.
+     */
+    void shift(Object[] data, int from, int to, int delta) {
+        if (delta == 0 || from >= to) {
+            return;
+        }
+        int stamp = ++shiftStamp;
+        int oldFrom = from - delta;
+        int oldTo = to - delta;
+        for (int i = from; i < to; i++) {
+            Positions elementPositions = positions.get(data[i]);
+            if (elementPositions.stamp != stamp) {
+                elementPositions.stamp = stamp;
+                elementPositions.shift(oldFrom, oldTo, delta);
+            }
+        }
+    }
+
+    /**
+     * Возвращает наименьший индекс элемента.
+     *
+     * @param element - искомый элемент.
+     * @return наименьший индекс элемента или -1, если элемента нет.
+     */
+    int first(Object element) {
+        Positions elementPositions = positions.get(element);
+        return elementPositions == null ? -1 : elementPositions.min();
+    }
+
+    /**
+     * Возвращает наибольший индекс элемента.
+     *
+     * @param element - искомый элемент.
+     * @return наибольший индекс элемента или -1, если элемента нет.
+     */
+    int last(Object element) {
+        Positions elementPositions = positions.get(element);
+        return elementPositions == null ? -1 : elementPositions.max();
+    }
+
+    /**
+     * Проверяет наличие элемента.
+     *
+     * @param element - искомый элемент.
+     * @return true, если элемент есть в индексе.
+     */
+    boolean contains(Object element) {
+        return positions.containsKey(element);
+    }
+
+    /**
+     * Строит индекс заново по первым size элементам массива.
+     *
+     * @param data - массив элементов.
+     * @param size - количество элементов.
+     */
+    void rebuild(Object[] data, int size) {
+        positions.clear();
+        for (int i = 0; i < size; i++) {
+            add(data[i], i);
+        }
+    }
+
+    /**
+     * Очищает индекс.
+     */
+    void clear() {
+        positions.clear();
+    }
+
+    /**
+     * Неупорядоченный набор позиций одного элемента.
+     */
+    private static final class Positions {
+        private int[] values = new int[1];
+        private int count = 0;
+        private int stamp = 0;
+
+        private void add(int position) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = position;
+        }
+
+        private boolean remove(int position) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] == position) {
+                    values[i] = values[--count];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void shift(int from, int to, int delta) {
+            for (int i = 0; i < count; i++) {
+                if (values[i] >= from && values[i] < to) {
+                    values[i] += delta;
+                }
+            }
+        }
+
+        private int min() {
+            int min = values[0];
+            for (int i = 1; i < count; i++) {
+                min = Math.min(min, values[i]);
+            }
+            return min;
+        }
+
+        private int max() {
+            int max = values[0];
+            for (int i = 1; i < count; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.aston.trainee;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Сериализатор элементов произвольной длины в двоичный поток и обратно.
+ * Используется для сброса элементов во временные файлы при внешней сортировке.
+ *
+ * @param <E> - тип сериализуемых элементов.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public interface ElementSerializer<E> {
+
+    /**
+     * Записывает элемент в поток.
+     *
+     * @param element - записываемый элемент.
+     * @param output  - поток для записи.
+     * @throws IOException - при ошибке записи.
+     */
+    void write(E element, DataOutput output) throws IOException;
+
+    /**
+     * Читает элемент из потока.
+     *
+     * @param input - поток для чтения.
+     * @return прочитанный элемент.
+     * @throws IOException - при ошибке чтения.
+     */
+    E read(DataInput input) throws IOException;
+}
@@ -0,0 +1,233 @@
+package com.aston.trainee;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Внешняя сортировка слиянием для наборов элементов, не помещающихся в памяти.
+ * Элементы читаются порциями не более maxElementsInMemory, каждая порция сортируется
+ * в памяти при помощи SortUtils.quickSort и записывается во временный файл (серию).
+ * Затем серии сливаются при помощи двоичной кучи за один проход. Временные файлы
+ * удаляются по завершении сортировки.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class ExternalMergeSort {
+    /**
+     * Размер буфера ввода-вывода для временных файлов.
+     */
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    /**
+     * Префикс имен временных файлов.
+     */
+    private static final String RUN_FILE_PREFIX = "external-sort-run-";
+
+    private ExternalMergeSort() {
+    }
+
+    /**
+     * Сортирует элементы, полученные из итератора, и передает их в порядке сортировки в sink.
+     *
+     * @param source              - итератор по сортируемым элементам.
+     * @param comparator          - компаратор, указывающий порядок сортировки.
+     * @param serializer          - сериализатор элементов для временных файлов.
+     * @param maxElementsInMemory - максимальное количество элементов, сортируемых в памяти.
+     * @param sink                - получатель отсортированных элементов.
+     * @param <E>                 - тип элементов.
+     * @throws IOException - при ошибке работы с временными файлами.
+     */
+    static <E> void sort(Iterator<? extends E> source, Comparator<? super E> comparator,
+                         ElementSerializer<E> serializer, int maxElementsInMemory,
+                         Consumer<? super E> sink) throws IOException {
+        CustomArrayListImpl<E> buffer = new CustomArrayListImpl<>(Math.min(maxElementsInMemory, IO_BUFFER_SIZE),
+                GrowthPolicy.DEFAULT, true);
+        List<Run<E>> runs = new ArrayList<>();
+        Throwable primary = null;
+        try {
+            while (source.hasNext()) {
+                buffer.add(source.next());
+                if (buffer.size() == maxElementsInMemory && source.hasNext()) {
+                    runs.add(spill(buffer, comparator, serializer));
+                }
+            }
+            if (runs.isEmpty()) {
+                SortUtils.quickSort(buffer, comparator);
+                buffer.forEach(sink);
+                return;
+            }
+            if (buffer.size() > 0) {
+                runs.add(spill(buffer, comparator, serializer));
+            }
+            merge(runs, comparator, sink);
+        } catch (Throwable e) {
+            primary = e;
+            throw e;
+        } finally {
+            closeRuns(runs, primary);
+        }
+    }
+
+    /**
+     * Закрывает серии и удаляет их временные файлы. Если сортировка уже завершается
+     * исключением primary, ошибки закрытия добавляются к нему как подавленные, чтобы
+     * не потерять исходную причину; иначе выбрасывается первая ошибка закрытия.
+     *
+     * @param runs    - серии для закрытия.
+     * @param primary - исключение, с которым завершается сортировка, или null.
+     * @param <E>     - тип элементов.
+     * @throws IOException - при ошибке закрытия, если primary равно null.
+     */
+    private static <E> void closeRuns(List<Run<E>> runs, Throwable primary) throws IOException {
+        IOException failure = null;
+        for (Run<E> run : runs) {
+            try {
+                run.close();
+            } catch (IOException e) {
+                if (primary != null) {
+                    primary.addSuppressed(e);
+                } else if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Сортирует буфер и записывает его во временный файл, после чего очищает буфер.
+     *
+     * @param buffer     - буфер с элементами.
+     * @param comparator - компаратор, указывающий порядок сортировки.
+     * @param serializer - сериализатор элементов.
+     * @param <E>        - тип элементов.
+     * @return серия, записанная во временный файл.
+     * @throws IOException - при ошибке записи.
+     */
+    private static <E> Run<E> spill(CustomArrayListImpl<E> buffer, Comparator<? super E> comparator,
+                                    ElementSerializer<E> serializer) throws IOException {
+        SortUtils.quickSort(buffer, comparator);
+        Path path = Files.createTempFile(RUN_FILE_PREFIX, ".bin");
+        Run<E> run = new Run<>(path, buffer.size(), serializer);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+             DataOutputStream output = new DataOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), IO_BUFFER_SIZE))) {
+            for (E element : buffer) {
+                serializer.write(element, output);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                run.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        buffer.clear();
+        return run;
+    }
+
+    /**
+     * Сливает отсортированные серии при помощи двоичной кучи.
+     *
+     * @param runs       - отсортированные серии.
+     * @param comparator - компаратор, указывающий порядок сортировки.
+     * @param sink       - получатель отсортированных элементов.
+     * @param <E>        - тип элементов.
+     * @throws IOException - при ошибке чтения.
+     */
+    private static <E> void merge(List<Run<E>> runs, Comparator<? super E> comparator,
+                                  Consumer<? super E> sink) throws IOException {
+        PriorityQueue<Run<E>> heap = new PriorityQueue<>(runs.size(),
+                (run1, run2) -> comparator.compare(run1.head, run2.head));
+        for (Run<E> run : runs) {
+            run.open();
+            if (run.advance()) {
+                heap.add(run);
+            }
+        }
+        while (!heap.isEmpty()) {
+            Run<E> run = heap.poll();
+            sink.accept(run.head);
+            if (run.advance()) {
+                heap.add(run);
+            }
+        }
+    }
+
+    /**
+     * Отсортированная серия элементов во временном файле.
+     *
+     * @param <E> - тип элементов.
+     */
+    private static final class Run<E> implements Closeable {
+        private final Path path;
+        private final ElementSerializer<E> serializer;
+        private int remaining;
+        private DataInputStream input;
+        private E head;
+
+        private Run(Path path, int count, ElementSerializer<E> serializer) {
+            this.path = path;
+            this.remaining = count;
+            this.serializer = serializer;
+        }
+
+        private void open() throws IOException {
+            input = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(FileChannel.open(path, StandardOpenOption.READ)), IO_BUFFER_SIZE));
+        }
+
+        private boolean advance() throws IOException {
+            if (remaining == 0) {
+                head = null;
+                return false;
+            }
+            head = serializer.read(input);
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            try {
+                if (input != null) {
+                    input.close();
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                if (failure == null) {
+                    throw e;
+                }
+                failure.addSuppressed(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.aston.trainee;
+
+/**
+ * Политика увеличения вместимости динамического массива. Определяет новую
+ * вместимость массива, когда текущей вместимости не хватает для размещения элементов.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Политика по умолчанию: новая вместимость равна текущей, умноженной на 1.5, плюс один.
+     */
+    GrowthPolicy DEFAULT = (currentCapacity, minCapacity) ->
+            (int) Math.min(Integer.MAX_VALUE, Math.max((currentCapacity * 3L) / 2 + 1, minCapacity));
+
+    /**
+     * Вычисляет новую вместимость массива.
+     *
+     * @param currentCapacity - текущая вместимость массива.
+     * @param minCapacity     - минимально необходимая вместимость, больше currentCapacity.
+     * @return новая вместимость, не меньше minCapacity.
+     */
+    int newCapacity(int currentCapacity, int minCapacity);
+
+    /**
+     * Создает политику геометрического роста: новая вместимость равна текущей,
+     * умноженной на factor (но не меньше текущей плюс один).
+     *
+     * @param factor - множитель роста, больше 1.
+     * @return политика геометрического роста.
+     * @throws IllegalArgumentException - если factor не больше 1.
+     */
+    static GrowthPolicy geometric(double factor) {
+        if (!(factor > 1)) {
+            throw new IllegalArgumentException("growth factor must be greater then 1");
+        }
+        return (currentCapacity, minCapacity) -> {
+            long grown = Math.max((long) Math.ceil(currentCapacity * factor), currentCapacity + 1L);
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(grown, minCapacity));
+        };
+    }
+
+    /**
+     * Создает политику роста на фиксированное количество элементов.
+     *
+     * @param increment - количество элементов, на которое увеличивается вместимость.
+     * @return политика роста на фиксированное количество элементов.
+     * @throws IllegalArgumentException - если increment не положителен.
+     */
+    static GrowthPolicy fixedIncrement(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("growth increment must be positive");
+        }
+        return (currentCapacity, minCapacity) ->
+                (int) Math.min(Integer.MAX_VALUE, Math.max((long) currentCapacity + increment, minCapacity));
+    }
+
+    /**
+     * Возвращает политику, которая ограничивает вместимость, вычисленную данной
+     * политикой, значением maxCapacity.
+     *
+     * @param maxCapacity - максимальная вместимость массива.
+     * @return политика с ограничением вместимости.
+     * @throws IllegalArgumentException - если maxCapacity не положителен.
+     */
+    default GrowthPolicy withCap(int maxCapacity) {
+        if (maxCapacity <= 0) {
+            throw new IllegalArgumentException("max capacity must be positive");
+        }
+        return (currentCapacity, minCapacity) -> {
+            if (minCapacity > maxCapacity) {
+                throw new IllegalStateException(String.format("required capacity %d exceeds max capacity %d",
+                        minCapacity, maxCapacity));
+            }
+            return Math.min(newCapacity(currentCapacity, minCapacity), maxCapacity);
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.aston.trainee;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR об увеличении вместимости массива CustomArrayListImpl.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+@Name("com.aston.trainee.ListResize")
+@Label("CustomArrayList Resize")
+@Category({"Aston", "Collections"})
+@Description("Growth of the CustomArrayListImpl backing array")
+class ListResizeEvent extends jdk.jfr.Event {
+    @Label("Old Capacity")
+    int oldCapacity;
+
+    @Label("New Capacity")
+    int newCapacity;
+
+    @Label("Copied Elements")
+    int copiedElements;
+}
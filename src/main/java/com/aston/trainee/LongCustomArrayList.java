@@ -0,0 +1,195 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+
+/**
+ * Реализация динамического массива для значений типа long. В отличие от
+ * CustomArrayListImpl хранит элементы в массиве long[] без упаковки в Long,
+ * что уменьшает расход памяти и избавляет от лишнего обращения по ссылке
+ * при каждом чтении и сравнении элементов.
+ * Предоставляет те же операции, что и интерфейс CustomArrayList.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class LongCustomArrayList {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+
+    /**
+     * Сообщение при установке отрицательного capacity.
+     */
+    private static final String START_CAPACITY_NOT_LESS_THEN_ZERO = "start capacity must not be less then 0";
+    /**
+     * Стартовый размер коллекции при инициализации.
+     */
+    private static final int START_CAPACITY = 10;
+    /**
+     * Массив для хранения элементов коллекции.
+     */
+    private long[] elementData;
+    /**
+     * Количество элементов в коллекции.
+     */
+    private int size = 0;
+
+    /**
+     * Конструктор - создание нового объекта и инициализация массива, вместимостью startCapacity.
+     *
+     * @param startCapacity - значение стартовой вместимости
+     * @throws IllegalArgumentException - неверный ввод значения стартовой вместимости.
+     */
+    public LongCustomArrayList(int startCapacity) {
+        if (startCapacity < 0) {
+            throw new IllegalArgumentException(START_CAPACITY_NOT_LESS_THEN_ZERO);
+        }
+        this.elementData = new long[startCapacity];
+    }
+
+    /**
+     * Конструктор - создание нового объекта и инициализация массива, вместимостью
+     * для 10 элементов.
+     */
+    public LongCustomArrayList() {
+        this.elementData = new long[START_CAPACITY];
+    }
+
+    /**
+     * Добавляет элемент в конец коллекции.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    public void add(long element) {
+        if (size == elementData.length) {
+            grow();
+        }
+        elementData[size++] = element;
+    }
+
+    /**
+     * Вставляет элемент по индексу, при этом, те элементы, индекс которых
+     * больше - смещаются на 1 позицию вправо.
+     *
+     * @param index   - индекс для вставки элемента.
+     * @param element - элемент для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    public void add(int index, long element) {
+        checkIndex(index);
+        if (size == elementData.length) {
+            grow();
+        }
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = element;
+        size++;
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    public long get(int index) {
+        checkIndex(index);
+        return elementData[index];
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом.
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    public long remove(int index) {
+        checkIndex(index);
+        long element = elementData[index];
+        System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+        size--;
+        return element;
+    }
+
+    /**
+     * Очищает коллекцию. Вместимость массива сохраняется.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Сортирует эллементы в коллекции в естественном порядке.
+     */
+    public void sort() {
+        Arrays.sort(elementData, 0, size);
+    }
+
+    /**
+     * Заменяет элемент в коллекции с указанным индексом.
+     *
+     * @param index   - индекс позиции для вставки элемента.
+     * @param element - заменяющий элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    public void set(int index, long element) {
+        checkIndex(index);
+        elementData[index] = element;
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов).
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elementData, size);
+    }
+
+    /**
+     * Возвращает массив, в котором хранятся элементы коллекции. Используется
+     * SortUtils для сортировки без копирования; значимы только первые size() элементов.
+     *
+     * @return массив для хранения элементов коллекции.
+     */
+    long[] elementData() {
+        return elementData;
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index - индекс для проверки.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+    }
+
+    /**
+     * Увеличивает вместимость массива путем создания нового массива большего
+     * размера и копирования в него всех элементов из первоначального массива.
+     */
+    private void grow() {
+        int newCapacity = (elementData.length * 3) / 2 + 1;
+        elementData = Arrays.copyOf(elementData, newCapacity);
+    }
+}
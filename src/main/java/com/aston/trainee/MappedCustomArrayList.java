@@ -0,0 +1,547 @@
+package com.aston.trainee;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.IllegalBlockingModeException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Реализация CustomArrayList, хранящая элементы фиксированной длины в файле,
+ * отображенном в память (FileChannel.map). Элементы кодируются при помощи RecordCodec.
+ * Файл состоит из заголовка и последовательности записей; записи отображаются в память
+ * блоками по 2^chunkShift записей, которые отображаются лениво при первом обращении.
+ * Поэтому открытие существующего файла выполняется за O(1) и не требует чтения данных,
+ * а размер коллекции не ограничен размером кучи.
+ * Рост коллекции выполняется отображением следующего блока, при этом файл
+ * автоматически расширяется. Размер коллекции хранится в заголовке и обновляется
+ * при каждом изменении, поэтому содержимое сохраняется между перезапусками.
+ * Записи в файле расположены подряд, поэтому снимок коллекции передается в канал
+ * методом FileChannel.transferTo и читается из канала методом transferFrom без
+ * копирования данных через кучу; для этого каналы должны работать в блокирующем режиме.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class MappedCustomArrayList<E> implements CustomArrayList<E>, Closeable {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+    /**
+     * Сообщение при обращении к закрытой коллекции.
+     */
+    private static final String LIST_IS_CLOSED = "list is closed";
+    /**
+     * Сообщение при несовпадении формата файла.
+     */
+    private static final String INCOMPATIBLE_FILE_FORMAT_MESSAGE = "file %s is not compatible: %s";
+    /**
+     * Сигнатура файла.
+     */
+    private static final int MAGIC = 0x43414C31;
+    /**
+     * Размер заголовка файла в байтах.
+     */
+    private static final int HEADER_SIZE = 32;
+    /**
+     * Смещение размера записи в заголовке.
+     */
+    private static final int RECORD_SIZE_OFFSET = 4;
+    /**
+     * Смещение логарифма количества записей в блоке в заголовке.
+     */
+    private static final int CHUNK_SHIFT_OFFSET = 8;
+    /**
+     * Смещение размера коллекции в заголовке.
+     */
+    private static final int SIZE_OFFSET = 16;
+    /**
+     * Логарифм количества записей в блоке по умолчанию (65536 записей).
+     */
+    private static final int DEFAULT_CHUNK_SHIFT = 16;
+
+    /**
+     * Путь к файлу.
+     */
+    private final Path path;
+    /**
+     * Кодек для записи и чтения элементов.
+     */
+    private final RecordCodec<E> codec;
+    /**
+     * Размер записи в байтах.
+     */
+    private final int recordSize;
+    /**
+     * Логарифм количества записей в блоке.
+     */
+    private final int chunkShift;
+    /**
+     * Маска для вычисления индекса записи внутри блока.
+     */
+    private final int chunkMask;
+    /**
+     * Канал открытого файла.
+     */
+    private FileChannel channel;
+    /**
+     * Отображенный в память заголовок файла.
+     */
+    private MappedByteBuffer header;
+    /**
+     * Отображенные в память блоки записей; null - блок еще не отображен.
+     */
+    private MappedByteBuffer[] chunks;
+    /**
+     * Количество элементов в коллекции.
+     */
+    private int size;
+
+    private MappedCustomArrayList(Path path, RecordCodec<E> codec, FileChannel channel, MappedByteBuffer header,
+                                  int chunkShift, int size) {
+        this.path = path;
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.channel = channel;
+        this.header = header;
+        this.size = size;
+        this.chunks = new MappedByteBuffer[Math.max(4, chunkIndex(size + chunkMask))];
+    }
+
+    /**
+     * Открывает коллекцию, хранящуюся в файле, или создает новый файл с блоками
+     * по 65536 записей, если файл не существует или пуст.
+     *
+     * @param path  - путь к файлу.
+     * @param codec - кодек для записи и чтения элементов.
+     * @param <E>   - тип элементов в коллекции.
+     * @return коллекция, отображенная на файл.
+     * @throws IOException - при ошибке ввода-вывода или несовместимом формате файла.
+     */
+    public static <E> MappedCustomArrayList<E> open(Path path, RecordCodec<E> codec) throws IOException {
+        return open(path, codec, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Открывает коллекцию, хранящуюся в файле, или создает новый файл с блоками
+     * по 2^chunkShift записей, если файл не существует или пуст. Для существующего
+     * файла используется значение chunkShift, сохраненное в его заголовке.
+     *
+     * @param path       - путь к файлу.
+     * @param codec      - кодек для записи и чтения элементов.
+     * @param chunkShift - логарифм количества записей в блоке для нового файла.
+     * @param <E>        - тип элементов в коллекции.
+     * @return коллекция, отображенная на файл.
+     * @throws IOException - при ошибке ввода-вывода или несовместимом формате файла.
+     */
+    public static <E> MappedCustomArrayList<E> open(Path path, RecordCodec<E> codec, int chunkShift)
+            throws IOException {
+        if (path == null || codec == null) {
+            throw new IllegalArgumentException("Arguments must not be null");
+        }
+        int recordSize = codec.recordSize();
+        if (recordSize <= 0 || chunkShift < 0 || chunkShift > 30 || ((long) recordSize << chunkShift) > 1 << 30) {
+            throw new IllegalArgumentException("chunk must hold from 1 to 2^30 bytes");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() == 0;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.nativeOrder());
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(RECORD_SIZE_OFFSET, recordSize);
+                header.putInt(CHUNK_SHIFT_OFFSET, chunkShift);
+                header.putLong(SIZE_OFFSET, 0);
+            } else {
+                if (header.getInt(0) != MAGIC) {
+                    throw new IOException(String.format(INCOMPATIBLE_FILE_FORMAT_MESSAGE, path, "bad signature"));
+                }
+                if (header.getInt(RECORD_SIZE_OFFSET) != recordSize) {
+                    throw new IOException(String.format(INCOMPATIBLE_FILE_FORMAT_MESSAGE, path,
+                            "record size " + header.getInt(RECORD_SIZE_OFFSET) + " differs from codec " + recordSize));
+                }
+                chunkShift = header.getInt(CHUNK_SHIFT_OFFSET);
+                if (chunkShift < 0 || chunkShift > 30 || ((long) recordSize << chunkShift) > 1 << 30) {
+                    throw new IOException(String.format(INCOMPATIBLE_FILE_FORMAT_MESSAGE, path,
+                            "bad chunk shift " + chunkShift));
+                }
+                long storedSize = header.getLong(SIZE_OFFSET);
+                long maxSize = Math.min(Integer.MAX_VALUE, (channel.size() - HEADER_SIZE) / recordSize);
+                if (storedSize < 0 || storedSize > maxSize) {
+                    throw new IOException(String.format(INCOMPATIBLE_FILE_FORMAT_MESSAGE, path,
+                            "size " + storedSize + " does not fit file length " + channel.size()));
+                }
+            }
+            return new MappedCustomArrayList<>(path, codec, channel, header, chunkShift,
+                    (int) header.getLong(SIZE_OFFSET));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Добавляет элемент в конец коллекции.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    @Override
+    public void add(E element) {
+        ensureOpen();
+        write(size, element);
+        setSize(size + 1);
+    }
+
+    /**
+     * Вставляет элемент по индексу, при этом, те элементы, индекс которых
+     * больше - смещаются на 1 позицию вправо.
+     *
+     * @param index   - индекс для вставки элемента.
+     * @param element - элемент для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index);
+        for (int i = size; i > index; i--) {
+            copyRecord(i - 1, i);
+        }
+        write(index, element);
+        setSize(size + 1);
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return codec.decode(chunk(chunkIndex(index)), (index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом.
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E remove(int index) {
+        E element = get(index);
+        for (int i = index + 1; i < size; i++) {
+            copyRecord(i, i - 1);
+        }
+        setSize(size - 1);
+        return element;
+    }
+
+    /**
+     * Очищает коллекцию. Размер файла не изменяется.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        setSize(0);
+    }
+
+    /**
+     * Сортирует эллементы в коллекции в естественном порядке.
+     *
+     * @throws ClassCastException - если элементы не реализуют интерфейс Comparable.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort() {
+        sort((o1, o2) -> ((Comparable<E>) o1).compareTo(o2));
+    }
+
+    /**
+     * Сортирует элементы в коллекции по заданному компаратору на месте, в файле.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     */
+    @Override
+    public void sort(Comparator<E> comparator) {
+        ensureOpen();
+        SortUtils.quickSort(this, comparator);
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        ensureOpen();
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = codec.decode(chunk(chunkIndex(i)), (i & chunkMask) * recordSize);
+        }
+        return (E[]) result;
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов).
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Заменяет элемент в коллекции с указанным индексом.
+     *
+     * @param index   - индекс позиции для вставки элемента.
+     * @param element - заменяющий элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void set(int index, E element) {
+        checkIndex(index);
+        write(index, element);
+    }
+
+    /**
+     * Возвращает путь к файлу коллекции.
+     *
+     * @return путь к файлу.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Записывает снимок коллекции в канал. Если передан кодек коллекции, записи
+     * передаются из файла в канал методом FileChannel.transferTo, что для файлов и
+     * сокетов выполняется без копирования данных в пространство пользователя.
+     * Канал должен работать в блокирующем режиме.
+     *
+     * @param target - канал для записи.
+     * @param codec  - кодек элементов.
+     * @return количество записанных байт.
+     * @throws IOException                  - при ошибке записи.
+     * @throws IllegalBlockingModeException - если канал работает в неблокирующем режиме.
+     */
+    @Override
+    public long writeTo(WritableByteChannel target, RecordCodec<? super E> codec) throws IOException {
+        ensureOpen();
+        if (target == null || codec != this.codec) {
+            return CustomArrayList.super.writeTo(target, codec);
+        }
+        requireBlocking(target);
+        long written = ChannelSnapshot.writeFully(target, ChannelSnapshot.header(recordSize, size, ByteOrder.nativeOrder()));
+        long position = HEADER_SIZE;
+        long end = HEADER_SIZE + (long) size * recordSize;
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new EOFException();
+            }
+            position += transferred;
+        }
+        return written + end - HEADER_SIZE;
+    }
+
+    /**
+     * Читает снимок из канала и добавляет его элементы в конец коллекции. Если передан
+     * кодек коллекции и порядок байтов снимка совпадает с порядком байтов платформы,
+     * записи переносятся из канала в файл методом FileChannel.transferFrom.
+     * Канал должен работать в блокирующем режиме: иначе отсутствие данных
+     * было бы неотличимо от конца потока.
+     *
+     * @param source - канал для чтения.
+     * @param codec  - кодек элементов.
+     * @throws IOException                  - при ошибке чтения или несовместимом формате снимка.
+     * @throws IllegalBlockingModeException - если канал работает в неблокирующем режиме.
+     */
+    @Override
+    public void readFrom(ReadableByteChannel source, RecordCodec<? extends E> codec) throws IOException {
+        ensureOpen();
+        if (source == null || codec != this.codec) {
+            CustomArrayList.super.readFrom(source, codec);
+            return;
+        }
+        requireBlocking(source);
+        ChannelSnapshot.Header header = ChannelSnapshot.readHeader(source, recordSize, size);
+        if (header.order() != ByteOrder.nativeOrder()) {
+            ChannelSnapshot.readRecords(this, source, codec, header);
+            return;
+        }
+        int newSize = (int) (size + header.count());
+        long position = HEADER_SIZE + (long) size * recordSize;
+        long end = HEADER_SIZE + (long) newSize * recordSize;
+        while (position < end) {
+            long transferred = channel.transferFrom(source, position, end - position);
+            if (transferred <= 0) {
+                throw new EOFException();
+            }
+            position += transferred;
+        }
+        setSize(newSize);
+    }
+
+    /**
+     * Записывает изменения отображенных блоков и заголовка на диск.
+     */
+    public void flush() {
+        ensureOpen();
+        for (MappedByteBuffer chunk : chunks) {
+            if (chunk != null) {
+                chunk.force();
+            }
+        }
+        header.force();
+    }
+
+    /**
+     * Записывает изменения на диск и закрывает файл. Отображенные области
+     * освобождаются после их сборки сборщиком мусора.
+     *
+     * @throws IOException - при ошибке закрытия файла.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        flush();
+        channel.close();
+        channel = null;
+        header = null;
+        chunks = null;
+    }
+
+    /**
+     * Записывает элемент в запись с указанным индексом.
+     *
+     * @param index   - индекс записи.
+     * @param element - записываемый элемент.
+     */
+    private void write(int index, E element) {
+        codec.encode(element, chunk(chunkIndex(index)), (index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Копирует байты записи с индексом from в запись с индексом to.
+     *
+     * @param from - индекс копируемой записи.
+     * @param to   - индекс записи назначения.
+     */
+    private void copyRecord(int from, int to) {
+        chunk(chunkIndex(to)).put((to & chunkMask) * recordSize,
+                chunk(chunkIndex(from)), (from & chunkMask) * recordSize, recordSize);
+    }
+
+    /**
+     * Возвращает блок с указанным номером, отображая его в память при первом обращении.
+     * Если блок выходит за пределы файла, файл расширяется.
+     *
+     * @param chunkIndex - номер блока.
+     * @return отображенный блок.
+     */
+    private ByteBuffer chunk(int chunkIndex) {
+        if (chunkIndex >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(chunkIndex + 1, chunks.length * 2));
+        }
+        MappedByteBuffer chunk = chunks[chunkIndex];
+        if (chunk == null) {
+            long chunkBytes = (long) recordSize << chunkShift;
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + chunkIndex * chunkBytes, chunkBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            chunk.order(ByteOrder.nativeOrder());
+            chunks[chunkIndex] = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Возвращает номер блока, содержащего запись с указанным индексом.
+     *
+     * @param index - индекс записи.
+     * @return номер блока.
+     */
+    private int chunkIndex(int index) {
+        return index >>> chunkShift;
+    }
+
+    /**
+     * Изменяет размер коллекции и сохраняет его в заголовке файла.
+     *
+     * @param newSize - новый размер коллекции.
+     */
+    private void setSize(int newSize) {
+        size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index - индекс для проверки.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     * @throws IllegalStateException     - если коллекция закрыта.
+     */
+    private void checkIndex(int index) {
+        ensureOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+    }
+
+    /**
+     * Проверяет, что коллекция не закрыта.
+     *
+     * @throws IllegalStateException - если коллекция закрыта.
+     */
+    private void ensureOpen() {
+        if (channel == null) {
+            throw new IllegalStateException(LIST_IS_CLOSED);
+        }
+    }
+
+    /**
+     * Проверяет, что канал работает в блокирующем режиме.
+     *
+     * @throws IllegalBlockingModeException - если канал работает в неблокирующем режиме.
+     */
+    private static void requireBlocking(Channel channel) {
+        if (channel instanceof SelectableChannel selectable && !selectable.isBlocking()) {
+            throw new IllegalBlockingModeException();
+        }
+    }
+}
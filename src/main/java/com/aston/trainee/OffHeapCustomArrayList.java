@@ -0,0 +1,415 @@
+package com.aston.trainee;
+
+import sun.misc.Unsafe;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Реализация CustomArrayList, хранящая элементы фиксированной длины вне кучи.
+ * Элементы кодируются при помощи RecordCodec в прямые (direct) байтовые буферы -
+ * блоки по 2^chunkShift записей. Коллекция растет добавлением новых блоков, поэтому
+ * при увеличении вместимости уже записанные данные не копируются, а в куче остается
+ * только массив ссылок на блоки. Элементы, возвращаемые get, создаются заново
+ * при каждом чтении.
+ * Снимок коллекции, записанный ее собственным кодеком, передается в канал и читается
+ * из него непосредственно блоками, без кодирования отдельных элементов.
+ * Метод close сразу освобождает память всех блоков, не дожидаясь сборки мусора
+ * (Unsafe.invokeCleaner), после чего любые операции выбрасывают IllegalStateException.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class OffHeapCustomArrayList<E> implements CustomArrayList<E>, AutoCloseable {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+    /**
+     * Сообщение при обращении к закрытой коллекции.
+     */
+    private static final String LIST_IS_CLOSED = "list is closed";
+    /**
+     * Сообщение при неверном размере блока.
+     */
+    private static final String ILLEGAL_CHUNK_SIZE = "chunk must hold from 1 to 2^30 bytes";
+    /**
+     * Логарифм количества записей в блоке по умолчанию (65536 записей).
+     */
+    private static final int DEFAULT_CHUNK_SHIFT = 16;
+    /**
+     * Доступ к Unsafe.invokeCleaner для немедленного освобождения прямых буферов.
+     */
+    private static final Unsafe UNSAFE = unsafe();
+
+    /**
+     * Кодек для записи и чтения элементов.
+     */
+    private final RecordCodec<E> codec;
+    /**
+     * Размер записи в байтах.
+     */
+    private final int recordSize;
+    /**
+     * Логарифм количества записей в блоке.
+     */
+    private final int chunkShift;
+    /**
+     * Маска для вычисления индекса записи внутри блока.
+     */
+    private final int chunkMask;
+    /**
+     * Блоки для хранения записей.
+     */
+    private ByteBuffer[] chunks;
+    /**
+     * Количество выделенных блоков.
+     */
+    private int chunkCount = 0;
+    /**
+     * Количество элементов в коллекции.
+     */
+    private int size = 0;
+
+    /**
+     * Конструктор - создание новой коллекции с блоками по 65536 записей.
+     *
+     * @param codec - кодек для записи и чтения элементов.
+     */
+    public OffHeapCustomArrayList(RecordCodec<E> codec) {
+        this(codec, DEFAULT_CHUNK_SHIFT);
+    }
+
+    /**
+     * Конструктор - создание новой коллекции с блоками по 2^chunkShift записей.
+     *
+     * @param codec      - кодек для записи и чтения элементов.
+     * @param chunkShift - логарифм количества записей в блоке.
+     * @throws IllegalArgumentException - если codec равен null или блок не помещается в один буфер.
+     */
+    public OffHeapCustomArrayList(RecordCodec<E> codec, int chunkShift) {
+        if (codec == null) {
+            throw new IllegalArgumentException("codec must not be null");
+        }
+        this.codec = codec;
+        this.recordSize = codec.recordSize();
+        if (recordSize <= 0 || chunkShift < 0 || chunkShift > 30 || ((long) recordSize << chunkShift) > 1 << 30) {
+            throw new IllegalArgumentException(ILLEGAL_CHUNK_SIZE);
+        }
+        this.chunkShift = chunkShift;
+        this.chunkMask = (1 << chunkShift) - 1;
+        this.chunks = new ByteBuffer[4];
+    }
+
+    /**
+     * Добавляет элемент в конец коллекции.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    @Override
+    public void add(E element) {
+        ensureOpen();
+        ensureCapacity(size + 1);
+        write(size++, element);
+    }
+
+    /**
+     * Вставляет элемент по индексу, при этом, те элементы, индекс которых
+     * больше - смещаются на 1 позицию вправо.
+     *
+     * @param index   - индекс для вставки элемента.
+     * @param element - элемент для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index);
+        ensureCapacity(size + 1);
+        for (int i = size; i > index; i--) {
+            copyRecord(i - 1, i);
+        }
+        write(index, element);
+        size++;
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return codec.decode(chunks[index >>> chunkShift], (index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом.
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E remove(int index) {
+        E element = get(index);
+        for (int i = index + 1; i < size; i++) {
+            copyRecord(i, i - 1);
+        }
+        size--;
+        return element;
+    }
+
+    /**
+     * Очищает коллекцию. Память всех блоков, кроме первого, освобождается сразу.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        free(Math.min(1, chunkCount));
+        size = 0;
+    }
+
+    /**
+     * Сортирует эллементы в коллекции в естественном порядке.
+     *
+     * @throws ClassCastException - если элементы не реализуют интерфейс Comparable.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort() {
+        sort((o1, o2) -> ((Comparable<E>) o1).compareTo(o2));
+    }
+
+    /**
+     * Сортирует элементы в коллекции по заданному компаратору на месте,
+     * без копирования элементов в кучу.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     */
+    @Override
+    public void sort(Comparator<E> comparator) {
+        ensureOpen();
+        SortUtils.quickSort(this, comparator);
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        ensureOpen();
+        Object[] result = new Object[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = codec.decode(chunks[i >>> chunkShift], (i & chunkMask) * recordSize);
+        }
+        return (E[]) result;
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов).
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Заменяет элемент в коллекции с указанным индексом.
+     *
+     * @param index   - индекс позиции для вставки элемента.
+     * @param element - заменяющий элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void set(int index, E element) {
+        checkIndex(index);
+        write(index, element);
+    }
+
+    /**
+     * Выделяет блоки так, чтобы коллекция могла хранить не менее minCapacity элементов.
+     *
+     * @param minCapacity - требуемая минимальная вместимость.
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        ensureOpen();
+        int requiredChunks = (int) (((long) minCapacity + chunkMask) >>> chunkShift);
+        if (requiredChunks > chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(requiredChunks, chunks.length * 2));
+        }
+        while (chunkCount < requiredChunks) {
+            chunks[chunkCount++] = ByteBuffer.allocateDirect(recordSize << chunkShift).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Записывает снимок коллекции в канал. Если передан кодек коллекции, блоки
+     * отправляются в канал как есть одной сборной записью вместе с заголовком,
+     * иначе элементы перекодируются порциями.
+     *
+     * @param channel - канал для записи.
+     * @param codec   - кодек элементов.
+     * @return количество записанных байт.
+     * @throws IOException - при ошибке записи.
+     */
+    @Override
+    public long writeTo(WritableByteChannel channel, RecordCodec<? super E> codec) throws IOException {
+        ensureOpen();
+        if (channel == null || codec != this.codec) {
+            return CustomArrayList.super.writeTo(channel, codec);
+        }
+        int chunkBytes = recordSize << chunkShift;
+        long remaining = (long) size * recordSize;
+        int usedChunks = (int) ((remaining + chunkBytes - 1) / chunkBytes);
+        ByteBuffer[] buffers = new ByteBuffer[usedChunks + 1];
+        buffers[0] = ChannelSnapshot.header(recordSize, size, ByteOrder.nativeOrder());
+        for (int i = 0; i < usedChunks; i++) {
+            int length = (int) Math.min(chunkBytes, remaining);
+            buffers[i + 1] = chunks[i].duplicate().clear().limit(length);
+            remaining -= length;
+        }
+        return ChannelSnapshot.writeFully(channel, buffers);
+    }
+
+    /**
+     * Читает снимок из канала и добавляет его элементы в конец коллекции. Если передан
+     * кодек коллекции и порядок байтов снимка совпадает с порядком байтов платформы,
+     * записи читаются из канала непосредственно в блоки.
+     *
+     * @param channel - канал для чтения.
+     * @param codec   - кодек элементов.
+     * @throws IOException - при ошибке чтения или несовместимом формате снимка.
+     */
+    @Override
+    public void readFrom(ReadableByteChannel channel, RecordCodec<? extends E> codec) throws IOException {
+        ensureOpen();
+        if (channel == null || codec != this.codec) {
+            CustomArrayList.super.readFrom(channel, codec);
+            return;
+        }
+        ChannelSnapshot.Header header = ChannelSnapshot.readHeader(channel, recordSize, size);
+        if (header.order() != ByteOrder.nativeOrder()) {
+            ChannelSnapshot.readRecords(this, channel, codec, header);
+            return;
+        }
+        int newSize = (int) (size + header.count());
+        ensureCapacity(newSize);
+        int chunkBytes = recordSize << chunkShift;
+        long position = (long) size * recordSize;
+        long end = (long) newSize * recordSize;
+        while (position < end) {
+            int offset = (int) (position % chunkBytes);
+            int length = (int) Math.min(chunkBytes - offset, end - position);
+            ChannelSnapshot.readFully(channel, chunks[(int) (position / chunkBytes)].duplicate()
+                    .clear().position(offset).limit(offset + length));
+            position += length;
+        }
+        size = newSize;
+    }
+
+    /**
+     * Закрывает коллекцию и сразу освобождает память всех блоков. Повторный вызов
+     * ничего не делает.
+     */
+    @Override
+    public void close() {
+        if (chunks == null) {
+            return;
+        }
+        free(0);
+        chunks = null;
+        size = 0;
+    }
+
+    /**
+     * Освобождает память блоков начиная с блока from и удаляет ссылки на них.
+     * Представления блоков (duplicate) после этого использовать нельзя, поэтому
+     * они не выходят за пределы методов коллекции.
+     *
+     * @param from - индекс первого освобождаемого блока.
+     */
+    private void free(int from) {
+        for (int i = from; i < chunkCount; i++) {
+            UNSAFE.invokeCleaner(chunks[i]);
+            chunks[i] = null;
+        }
+        chunkCount = from;
+    }
+
+    /**
+     * Записывает элемент в запись с указанным индексом.
+     *
+     * @param index   - индекс записи.
+     * @param element - записываемый элемент.
+     */
+    private void write(int index, E element) {
+        codec.encode(element, chunks[index >>> chunkShift], (index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Копирует байты записи с индексом from в запись с индексом to.
+     *
+     * @param from - индекс копируемой записи.
+     * @param to   - индекс записи назначения.
+     */
+    private void copyRecord(int from, int to) {
+        chunks[to >>> chunkShift].put((to & chunkMask) * recordSize,
+                chunks[from >>> chunkShift], (from & chunkMask) * recordSize, recordSize);
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index - индекс для проверки.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     * @throws IllegalStateException     - если коллекция закрыта.
+     */
+    private void checkIndex(int index) {
+        ensureOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+    }
+
+    /**
+     * Проверяет, что коллекция не закрыта.
+     *
+     * @throws IllegalStateException - если коллекция закрыта.
+     */
+    private void ensureOpen() {
+        if (chunks == null) {
+            throw new IllegalStateException(LIST_IS_CLOSED);
+        }
+    }
+
+    private static Unsafe unsafe() {
+        try {
+            Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return (Unsafe) field.get(null);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
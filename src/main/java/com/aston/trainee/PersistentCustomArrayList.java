@@ -0,0 +1,433 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Реализация CustomArrayList на основе персистентного вектора: префиксного дерева
+ * с ветвлением 32 и буфером хвоста на последние 32 элемента. Доступ по индексу и замена
+ * элемента занимают O(log32 n), добавление в конец и удаление последнего элемента -
+ * O(1) в среднем, вставка и удаление в середине - O(n).
+ * Метод snapshot возвращает неизменяемый снимок за O(1): снимок разделяет с коллекцией
+ * все узлы дерева, а коллекция после снимка копирует узел только при первом изменении
+ * в нем (копирование пути от корня до листа), поэтому каждое изменение после снимка
+ * копирует не более log32 n узлов по 32 ссылки, а не весь массив. Узлы, созданные после
+ * последнего снимка, изменяются на месте.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class PersistentCustomArrayList<E> implements CustomArrayList<E> {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+    /**
+     * Количество бит индекса на один уровень дерева.
+     */
+    private static final int BITS = 5;
+    /**
+     * Ветвление дерева и размер листа.
+     */
+    private static final int WIDTH = 1 << BITS;
+    /**
+     * Маска для вычисления позиции внутри узла.
+     */
+    private static final int MASK = WIDTH - 1;
+
+    /**
+     * Метка изменения: узлы с этой меткой созданы после последнего снимка и
+     * могут изменяться на месте.
+     */
+    private Object edit = new Object();
+    /**
+     * Корень дерева.
+     */
+    private Node root = new Node(edit, new Object[WIDTH]);
+    /**
+     * Сдвиг индекса для корневого уровня.
+     */
+    private int shift = BITS;
+    /**
+     * Последние элементы коллекции, еще не перенесенные в дерево.
+     */
+    private Object[] tail = new Object[WIDTH];
+    /**
+     * Количество элементов в коллекции.
+     */
+    private int size = 0;
+
+    /**
+     * Добавляет элемент в конец коллекции.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    @Override
+    public void add(E element) {
+        if (size - tailOffset(size) < WIDTH) {
+            tail[size - tailOffset(size)] = element;
+            size++;
+            return;
+        }
+        Node tailNode = new Node(edit, tail);
+        if ((size >>> BITS) > (1 << shift)) {
+            Node newRoot = new Node(edit, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(shift, tailNode);
+            root = newRoot;
+            shift += BITS;
+        } else {
+            root = pushTail(shift, root, tailNode);
+        }
+        tail = new Object[WIDTH];
+        tail[0] = element;
+        size++;
+    }
+
+    /**
+     * Вставляет элемент по индексу, при этом, те элементы, индекс которых
+     * больше - смещаются на 1 позицию вправо. Занимает O(n).
+     *
+     * @param index   - индекс для вставки элемента.
+     * @param element - элемент для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void add(int index, E element) {
+        checkIndex(index);
+        add(get(size - 1));
+        for (int i = size - 2; i > index; i--) {
+            set(i, (E) elementAt(i - 1));
+        }
+        set(index, element);
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) elementAt(index);
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом. Удаление последнего элемента
+     * занимает O(1) в среднем, остальных - O(n).
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        Object element = elementAt(index);
+        for (int i = index; i < size - 1; i++) {
+            set(i, (E) elementAt(i + 1));
+        }
+        removeLast();
+        return (E) element;
+    }
+
+    /**
+     * Очищает коллекцию. Узлы, общие со снимками, не изменяются.
+     */
+    @Override
+    public void clear() {
+        root = new Node(edit, new Object[WIDTH]);
+        shift = BITS;
+        tail = new Object[WIDTH];
+        size = 0;
+    }
+
+    /**
+     * Сортирует эллементы в коллекции в естественном порядке.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort() {
+        Object[] elements = toArray();
+        Arrays.sort(elements);
+        for (int i = 0; i < elements.length; i++) {
+            set(i, (E) elements[i]);
+        }
+    }
+
+    /**
+     * Устойчиво сортирует элементы в коллекции по заданному компаратору при помощи
+     * SortUtils.timSort.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     */
+    @Override
+    public void sort(Comparator<E> comparator) {
+        SortUtils.timSort(this, comparator);
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции. Элементы копируются
+     * из дерева целыми листами.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        return (E[]) copyElements(size, shift, root, tail);
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов).
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Заменяет элемент в коллекции с указанным индексом. Узлы на пути к элементу,
+     * общие со снимками, копируются.
+     *
+     * @param index   - индекс позиции для вставки элемента.
+     * @param element - заменяющий элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void set(int index, E element) {
+        checkIndex(index);
+        if (index >= tailOffset(size)) {
+            tail[index & MASK] = element;
+        } else {
+            root = doSet(shift, root, index, element);
+        }
+    }
+
+    /**
+     * Возвращает неизменяемый снимок коллекции за O(1). Снимок получает корень дерева и
+     * копию буфера хвоста (не более 32 элементов), после чего все существующие узлы
+     * считаются общими и копируются коллекцией при первом изменении.
+     *
+     * @return неизменяемый снимок коллекции.
+     */
+    @Override
+    public CustomArrayList<E> snapshot() {
+        edit = new Object();
+        return new Snapshot<>(size, shift, root, tail.clone());
+    }
+
+    /**
+     * Возвращает элемент по индексу без проверки индекса.
+     */
+    private Object elementAt(int index) {
+        return index >= tailOffset(size) ? tail[index & MASK] : leaf(index, shift, root)[index & MASK];
+    }
+
+    /**
+     * Удаляет последний элемент. Если буфер хвоста опустел, последний лист дерева
+     * становится новым буфером хвоста.
+     */
+    private void removeLast() {
+        if (size == 1) {
+            clear();
+            return;
+        }
+        if (((size - 1) & MASK) > 0) {
+            tail[(size - 1) & MASK] = null;
+            size--;
+            return;
+        }
+        Object[] newTail = leaf(size - 2, shift, root).clone();
+        Node newRoot = popTail(shift, root);
+        if (newRoot == null) {
+            newRoot = new Node(edit, new Object[WIDTH]);
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = editable((Node) newRoot.array[0]);
+            shift -= BITS;
+        }
+        root = newRoot;
+        tail = newTail;
+        size--;
+    }
+
+    /**
+     * Добавляет заполненный буфер хвоста в дерево как последний лист.
+     */
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        Node node = editable(parent);
+        int subIndex = ((size - 1) >>> level) & MASK;
+        Node inserted;
+        if (level == BITS) {
+            inserted = tailNode;
+        } else {
+            Node child = (Node) node.array[subIndex];
+            inserted = child != null ? pushTail(level - BITS, child, tailNode) : newPath(level - BITS, tailNode);
+        }
+        node.array[subIndex] = inserted;
+        return node;
+    }
+
+    /**
+     * Удаляет из дерева последний лист; возвращает null, если узел опустел.
+     */
+    private Node popTail(int level, Node node) {
+        Node editableNode = editable(node);
+        int subIndex = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(level - BITS, (Node) editableNode.array[subIndex]);
+            if (child == null && subIndex == 0) {
+                return null;
+            }
+            editableNode.array[subIndex] = child;
+            return editableNode;
+        }
+        if (subIndex == 0) {
+            return null;
+        }
+        editableNode.array[subIndex] = null;
+        return editableNode;
+    }
+
+    /**
+     * Заменяет элемент в поддереве, копируя общие со снимками узлы на пути к нему.
+     */
+    private Node doSet(int level, Node node, int index, Object element) {
+        Node editableNode = editable(node);
+        if (level == 0) {
+            editableNode.array[index & MASK] = element;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            editableNode.array[subIndex] = doSet(level - BITS, (Node) editableNode.array[subIndex], index, element);
+        }
+        return editableNode;
+    }
+
+    /**
+     * Создает цепочку узлов от уровня level до листа.
+     */
+    private Node newPath(int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(edit, new Object[WIDTH]);
+        path.array[0] = newPath(level - BITS, node);
+        return path;
+    }
+
+    /**
+     * Возвращает узел, если он создан после последнего снимка, иначе его копию.
+     */
+    private Node editable(Node node) {
+        return node.edit == edit ? node : new Node(edit, node.array.clone());
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index - индекс для проверки.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+    }
+
+    /**
+     * Возвращает индекс первого элемента буфера хвоста.
+     */
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Возвращает лист дерева, содержащий элемент с индексом index.
+     */
+    private static Object[] leaf(int index, int shift, Node root) {
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(index >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    /**
+     * Копирует элементы дерева и буфера хвоста в новый массив.
+     */
+    private static Object[] copyElements(int size, int shift, Node root, Object[] tail) {
+        Object[] result = new Object[size];
+        int tailOffset = tailOffset(size);
+        for (int i = 0; i < tailOffset; i += WIDTH) {
+            System.arraycopy(leaf(i, shift, root), 0, result, i, WIDTH);
+        }
+        System.arraycopy(tail, 0, result, tailOffset, size - tailOffset);
+        return result;
+    }
+
+    /**
+     * Узел дерева: массив на 32 дочерних узла или элемента и метка изменения,
+     * при которой узел был создан.
+     */
+    private static final class Node {
+        private final Object edit;
+        private final Object[] array;
+
+        private Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Неизменяемый снимок: корень дерева и буфер хвоста на момент вызова snapshot.
+     */
+    private static final class Snapshot<E> extends ReadOnlyCustomArrayList<E> {
+        private final int size;
+        private final int shift;
+        private final Node root;
+        private final Object[] tail;
+
+        private Snapshot(int size, int shift, Node root, Object[] tail) {
+            this.size = size;
+            this.shift = shift;
+            this.root = root;
+            this.tail = tail;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+            }
+            return (E) (index >= tailOffset(size) ? tail[index & MASK] : leaf(index, shift, root)[index & MASK]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E[] toArray() {
+            return (E[]) copyElements(size, shift, root, tail);
+        }
+    }
+}
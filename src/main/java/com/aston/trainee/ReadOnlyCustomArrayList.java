@@ -0,0 +1,74 @@
+package com.aston.trainee;
+
+import java.util.Comparator;
+
+/**
+ * Основа неизменяемых снимков CustomArrayList: все операции изменения выбрасывают
+ * UnsupportedOperationException, а снимок снимка - сам снимок. Наследники реализуют
+ * только get, size и toArray.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+abstract class ReadOnlyCustomArrayList<E> implements CustomArrayList<E> {
+    /**
+     * Сообщение при попытке изменить снимок.
+     */
+    static final String SNAPSHOT_IS_READ_ONLY = "snapshot is read-only";
+
+    @Override
+    public void add(E element) {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public E remove(int index) {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public void sort() {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public void sort(Comparator<E> comparator) {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public void set(int index, E element) {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public void removeRange(int from, int to) {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    @Override
+    public boolean removeElement(Object element) {
+        throw new UnsupportedOperationException(SNAPSHOT_IS_READ_ONLY);
+    }
+
+    /**
+     * Снимок неизменяем, поэтому является собственным снимком.
+     *
+     * @return этот снимок.
+     */
+    @Override
+    public CustomArrayList<E> snapshot() {
+        return this;
+    }
+}
@@ -0,0 +1,101 @@
+package com.aston.trainee;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Кодек для записи элементов фиксированной длины в байтовый буфер и чтения их обратно.
+ * Используется коллекциями, хранящими элементы вне кучи. Методы работают с абсолютными
+ * смещениями и не изменяют позицию и границы буфера.
+ *
+ * @param <E> - тип кодируемых элементов.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public interface RecordCodec<E> {
+
+    /**
+     * Кодек для значений типа Integer (4 байта).
+     */
+    RecordCodec<Integer> INT = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer element, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, element);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Кодек для значений типа Long (8 байт).
+     */
+    RecordCodec<Long> LONG = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long element, ByteBuffer buffer, int offset) {
+            buffer.putLong(offset, element);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Кодек для значений типа Double (8 байт).
+     */
+    RecordCodec<Double> DOUBLE = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double element, ByteBuffer buffer, int offset) {
+            buffer.putDouble(offset, element);
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    /**
+     * Возвращает размер закодированного элемента в байтах. Должен быть одинаковым
+     * для всех элементов.
+     *
+     * @return размер записи в байтах.
+     */
+    int recordSize();
+
+    /**
+     * Записывает элемент в буфер, начиная с указанного смещения.
+     *
+     * @param element - записываемый элемент.
+     * @param buffer  - буфер для записи.
+     * @param offset  - смещение первого байта записи в буфере.
+     */
+    void encode(E element, ByteBuffer buffer, int offset);
+
+    /**
+     * Читает элемент из буфера, начиная с указанного смещения.
+     *
+     * @param buffer - буфер для чтения.
+     * @param offset - смещение первого байта записи в буфере.
+     * @return прочитанный элемент.
+     */
+    E decode(ByteBuffer buffer, int offset);
+}
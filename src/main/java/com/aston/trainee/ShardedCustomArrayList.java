@@ -0,0 +1,353 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Потокобезопасная реализация CustomArrayList для интенсивного параллельного добавления
+ * элементов. Метод add(E) записывает элемент в буфер одного из сегментов (shard),
+ * выбранного по идентификатору текущего потока, поэтому потоки-производители практически
+ * не конкурируют между собой. Число сегментов по умолчанию вдвое превышает число
+ * процессоров, что подходит и для платформенных, и для виртуальных потоков; сегменты
+ * защищены ReentrantLock, который не закрепляет виртуальный поток за платформенным.
+ * Остальные операции сначала переносят содержимое всех сегментов в общий список,
+ * а затем работают с ним; если после последнего переноса ничего не добавлялось,
+ * сегменты не блокируются. Порядок элементов, добавленных разными потоками, между
+ * переносами не определен; порядок элементов одного потока сохраняется.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class ShardedCustomArrayList<E> implements CustomArrayList<E> {
+    /**
+     * Сообщение при неверном количестве сегментов.
+     */
+    private static final String SHARD_COUNT_MUST_BE_POSITIVE = "shard count must be positive";
+    /**
+     * Стартовый размер буфера сегмента.
+     */
+    private static final int SHARD_START_CAPACITY = 16;
+
+    /**
+     * Сегменты для добавления элементов.
+     */
+    private final Shard[] shards;
+    /**
+     * Маска для выбора сегмента по идентификатору потока.
+     */
+    private final int shardMask;
+    /**
+     * Общий список, в который переносятся элементы сегментов.
+     */
+    private final CustomArrayListImpl<E> merged = new CustomArrayListImpl<>();
+    /**
+     * Блокировка, защищающая общий список.
+     */
+    private final ReentrantLock mergeLock = new ReentrantLock();
+    /**
+     * Количество элементов в буферах сегментов, еще не перенесенных в общий список.
+     */
+    private final LongAdder pending = new LongAdder();
+
+    /**
+     * Конструктор - создание коллекции с числом сегментов, вдвое превышающим
+     * число доступных процессоров.
+     */
+    public ShardedCustomArrayList() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Конструктор - создание коллекции с заданным числом сегментов. Число
+     * округляется вверх до степени двойки.
+     *
+     * @param shardCount - число сегментов.
+     * @throws IllegalArgumentException - если shardCount не положителен.
+     */
+    public ShardedCustomArrayList(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException(SHARD_COUNT_MUST_BE_POSITIVE);
+        }
+        int count = Integer.highestOneBit(shardCount);
+        if (count < shardCount) {
+            count <<= 1;
+        }
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = count - 1;
+    }
+
+    /**
+     * Добавляет элемент в буфер сегмента текущего потока.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    @Override
+    public void add(E element) {
+        long id = Thread.currentThread().threadId();
+        Shard shard = shards[(int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & shardMask];
+        shard.lock.lock();
+        try {
+            shard.add(element);
+            pending.increment();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Вставляет элемент по индексу, при этом, те элементы, индекс которых
+     * больше - смещаются на 1 позицию вправо.
+     *
+     * @param index   - индекс для вставки элемента.
+     * @param element - элемент для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void add(int index, E element) {
+        mergeLock.lock();
+        try {
+            drain();
+            merged.add(index, element);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E get(int index) {
+        mergeLock.lock();
+        try {
+            drain();
+            return merged.get(index);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом.
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public E remove(int index) {
+        mergeLock.lock();
+        try {
+            drain();
+            return merged.remove(index);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Очищает коллекцию, включая буферы всех сегментов.
+     */
+    @Override
+    public void clear() {
+        mergeLock.lock();
+        try {
+            for (Shard shard : shards) {
+                shard.lock.lock();
+                try {
+                    pending.add(-shard.size);
+                    shard.clear();
+                } finally {
+                    shard.lock.unlock();
+                }
+            }
+            merged.clear();
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Сортирует эллементы в коллекции в естественном порядке.
+     */
+    @Override
+    public void sort() {
+        mergeLock.lock();
+        try {
+            drain();
+            merged.sort();
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Устойчиво сортирует элементы в коллекции по заданному компаратору при помощи
+     * SortUtils.timSort.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     */
+    @Override
+    public void sort(Comparator<E> comparator) {
+        mergeLock.lock();
+        try {
+            drain();
+            SortUtils.timSort(merged, comparator);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Возвращает отсортированную копию всех элементов коллекции. Сама коллекция
+     * не изменяется.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     * @return новая отсортированная коллекция.
+     */
+    public CustomArrayList<E> sortedSnapshot(Comparator<? super E> comparator) {
+        CustomArrayList<E> snapshot;
+        mergeLock.lock();
+        try {
+            drain();
+            snapshot = new CustomArrayListImpl<>(merged.size());
+            snapshot.addAll(merged);
+        } finally {
+            mergeLock.unlock();
+        }
+        SortUtils.quickSort(snapshot, comparator);
+        return snapshot;
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    @Override
+    public E[] toArray() {
+        mergeLock.lock();
+        try {
+            drain();
+            return merged.toArray();
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов), включая элементы в буферах сегментов.
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    @Override
+    public int size() {
+        mergeLock.lock();
+        try {
+            drain();
+            return merged.size();
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Заменяет элемент в коллекции с указанным индексом.
+     *
+     * @param index   - индекс позиции для вставки элемента.
+     * @param element - заменяющий элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void set(int index, E element) {
+        mergeLock.lock();
+        try {
+            drain();
+            merged.set(index, element);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    /**
+     * Возвращает итератор по снимку элементов коллекции на момент вызова.
+     * Последующие изменения коллекции на обход не влияют.
+     *
+     * @return итератор по элементам коллекции.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return Spliterators.iterator(spliterator());
+    }
+
+    /**
+     * Возвращает Spliterator по снимку элементов коллекции на момент вызова.
+     *
+     * @return Spliterator по элементам коллекции.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Arrays.spliterator(toArray());
+    }
+
+    /**
+     * Переносит элементы из буферов всех сегментов в конец общего списка.
+     * Вызывается только под mergeLock. Счетчик pending уменьшается только здесь и в clear,
+     * поэтому нулевое значение означает, что все завершенные добавления уже перенесены.
+     */
+    private void drain() {
+        if (pending.sum() == 0) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                if (shard.size > 0) {
+                    merged.appendAll(shard.data, shard.size);
+                    pending.add(-shard.size);
+                    shard.clear();
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Сегмент - буфер для добавления элементов с собственной блокировкой.
+     */
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Object[] data = new Object[SHARD_START_CAPACITY];
+        private int size = 0;
+
+        private void add(Object element) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            data[size++] = element;
+        }
+
+        private void clear() {
+            Arrays.fill(data, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.aston.trainee;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Событие JFR о вызове быстрой сортировки SortUtils. Длительность события
+ * совпадает со временем сортировки.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+@Name("com.aston.trainee.Sort")
+@Label("CustomArrayList Sort")
+@Category({"Aston", "Collections"})
+@Description("Quick sort of a CustomArrayList")
+class SortEvent extends jdk.jfr.Event {
+    @Label("Size")
+    int size;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Swaps")
+    long swaps;
+
+    @Label("Max Recursion Depth")
+    int maxRecursionDepth;
+}
@@ -0,0 +1,83 @@
+package com.aston.trainee;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчики одного вызова быстрой сортировки. Создается только при включенных метриках;
+ * при выключенных метриках алгоритмы сортировки получают null вместо пробы и не
+ * выполняют никакой дополнительной работы, кроме проверки на null. Счетчики
+ * потокобезопасны, поэтому одна проба используется всеми задачами параллельной сортировки.
+ *
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+final class SortProbe {
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final AtomicInteger minRemainingDepth;
+    private final int depthLimit;
+    private final SortEvent event = new SortEvent();
+    private final long startNanos;
+
+    /**
+     * @param depthLimit - допустимая глубина разделений сортировки.
+     */
+    SortProbe(int depthLimit) {
+        this.depthLimit = depthLimit;
+        this.minRemainingDepth = new AtomicInteger(depthLimit);
+        event.begin();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Возвращает компаратор, подсчитывающий количество сравнений.
+     *
+     * @param comparator - исходный компаратор.
+     * @param <E>        - тип сравниваемых элементов.
+     * @return подсчитывающий компаратор.
+     */
+    <E> Comparator<E> counting(Comparator<E> comparator) {
+        return (first, second) -> {
+            comparisons.increment();
+            return comparator.compare(first, second);
+        };
+    }
+
+    /**
+     * Учитывает перестановку (перемещение) элемента.
+     */
+    void swap() {
+        swaps.increment();
+    }
+
+    /**
+     * Учитывает разделение диапазона.
+     *
+     * @param remainingDepth - оставшаяся после разделения допустимая глубина.
+     */
+    void partitioned(int remainingDepth) {
+        minRemainingDepth.accumulateAndGet(remainingDepth, Math::min);
+    }
+
+    /**
+     * Завершает сбор статистики и записывает событие JFR.
+     *
+     * @param size - количество отсортированных элементов.
+     * @return статистика сортировки.
+     */
+    SortStatistics finish(int size) {
+        SortStatistics statistics = new SortStatistics(size, comparisons.sum(), swaps.sum(),
+                depthLimit - minRemainingDepth.get(), System.nanoTime() - startNanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.size = size;
+            event.comparisons = statistics.comparisons();
+            event.swaps = statistics.swaps();
+            event.maxRecursionDepth = statistics.maxRecursionDepth();
+            event.commit();
+        }
+        return statistics;
+    }
+}
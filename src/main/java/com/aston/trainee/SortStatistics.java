@@ -0,0 +1,16 @@
+package com.aston.trainee;
+
+/**
+ * Статистика одного вызова быстрой сортировки, собираемая при включенных метриках
+ * (см. CollectionMetrics).
+ *
+ * @param size              - количество отсортированных элементов.
+ * @param comparisons       - количество вызовов компаратора.
+ * @param swaps             - количество перестановок элементов, включая сдвиги сортировки вставками.
+ * @param maxRecursionDepth - максимальная глубина разделений.
+ * @param elapsedNanos      - время сортировки в наносекундах.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public record SortStatistics(int size, long comparisons, long swaps, int maxRecursionDepth, long elapsedNanos) {
+}
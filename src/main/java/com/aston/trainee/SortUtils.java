@@ -1,10 +1,34 @@
 package com.aston.trainee;
 
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Класс содержит набор статических методов для сортировки коллекций типа CustomArrayList.
- * Для сортировки коллекции используется алгоритм быстрой сортировки.
+ * Для сортировки коллекции используется интроспективная сортировка: быстрая сортировка
+ * с выбором опорного элемента по медиане (медиана трех или медиана медиан трех троек),
+ * трехпутевым разделением для повторяющихся элементов и сортировкой вставками для
+ * небольших диапазонов. Если глубина рекурсии превышает 2 * log2(n), диапазон
+ * досортировывается пирамидальной сортировкой. Рекурсия выполняется только в меньшую
+ * часть диапазона, поэтому время работы составляет O(n log n), а глубина стека - O(log n)
+ * на любых входных данных.
+ * Коллекции CustomArrayListImpl сортируются непосредственно в массиве элементов,
+ * остальные - через методы get и set.
+ * При включенных метриках (CollectionMetrics) быстрая сортировка подсчитывает сравнения,
+ * перестановки, глубину разделений и время работы.
+ * Временные массивы поразрядной сортировки, сортировок по ключу и TimSort могут браться
+ * из общего пула массивов, заданного методом setScratchPool.
  *
  * @author Siarhei Zmushko
  * @version 1.0
@@ -12,6 +36,54 @@ import java.util.Comparator;
 public class SortUtils {
     private static final String SOURCE_LIST_NOT_NULL = "Source list must not be null";
     private static final String ARGUMENT_NOT_NULL = "Arguments must not be null";
+    private static final String MEMORY_BUDGET_MUST_BE_POSITIVE = "Max elements in memory must be positive";
+    private static final String K_NOT_NEGATIVE = "k must not be negative";
+    private static final String K_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "k: %d, size: %d";
+    /**
+     * Размер диапазона, начиная с которого параллельная сортировка перестает
+     * порождать новые задачи и сортирует диапазон последовательно.
+     */
+    private static final int PARALLEL_SORT_THRESHOLD = 8192;
+    /**
+     * Размер диапазона, меньше которого используется сортировка вставками.
+     */
+    static final int INSERTION_SORT_THRESHOLD = 16;
+    /**
+     * Размер диапазона, начиная с которого опорный элемент выбирается как медиана
+     * трех медиан (ninther) вместо медианы трех элементов.
+     */
+    static final int NINTHER_THRESHOLD = 128;
+    /**
+     * Количество бит ключа, обрабатываемых за один проход поразрядной сортировки.
+     */
+    private static final int RADIX_BITS = 8;
+    /**
+     * Количество корзин поразрядной сортировки.
+     */
+    private static final int RADIX = 1 << RADIX_BITS;
+    /**
+     * Пул временных массивов сортировок или null, если массивы создаются без пула.
+     */
+    private static volatile ArrayPool scratchPool;
+
+    /**
+     * Метод задает пул, из которого сортировки берут временные массивы и в который
+     * возвращают их после завершения. По умолчанию пул не используется.
+     *
+     * @param pool - пул массивов или null, чтобы создавать временные массивы без пула.
+     */
+    public static void setScratchPool(ArrayPool pool) {
+        scratchPool = pool;
+    }
+
+    /**
+     * Метод возвращает пул временных массивов сортировок.
+     *
+     * @return пул массивов или null, если пул не используется.
+     */
+    static ArrayPool scratchPool() {
+        return scratchPool;
+    }
 
     /**
      * Метод сортирует коллекцию в порядке, указанном при помощи компаратора
@@ -24,106 +96,1091 @@ public class SortUtils {
         if (source == null || comparator == null) {
             throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
         }
-        quickSort(source, 0, source.size() - 1, comparator);
+        int size = source.size();
+        int depthLimit = depthLimit(size);
+        SortProbe probe = CollectionMetrics.isEnabled() ? new SortProbe(depthLimit) : null;
+        Comparator<? super E> effective = probe != null ? probe.counting(comparator) : comparator;
+        if (source instanceof CustomArrayListImpl<?> arrayList) {
+            ArrayIntroSort.sort(arrayList.elementData(), 0, size - 1, effective, depthLimit, probe);
+            arrayList.elementsReordered();
+        } else {
+            introSort(source, 0, size - 1, effective, depthLimit, probe);
+        }
+        if (probe != null) {
+            CollectionMetrics.recordSort(probe, size);
+        }
+    }
+
+    /**
+     * Метод сортирующий коллекцию, содержащую тип элементов, реализующих интерфейс Comparable.
+     *
+     * @param source - коллекция для сортировки.
+     * @param <E>    - тип элементов коллекции.
+     */
+    public static <E extends Comparable<E>> void quickSort(CustomArrayList<E> source) {
+        if (source == null) {
+            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+        }
+        quickSort(source, Comparator.naturalOrder());
+    }
+
+    /**
+     * Метод параллельно сортирует коллекцию в порядке, указанном при помощи компаратора.
+     * Используется общий пул ForkJoinPool.commonPool().
+     *
+     * @param source     - коллекция для сортировки.
+     * @param comparator - компаратор, указывающий порядок сортировки.
+     * @param <E>        - тип коллекции.
+     */
+    public static <E> void parallelQuickSort(CustomArrayList<E> source, Comparator<? super E> comparator) {
+        parallelQuickSort(source, comparator, ForkJoinPool.commonPool());
     }
 
     /**
-     * Рекурсивный метод quickSort на вход принимает массив, а также нижний (from)
-     * и верхний (to) индексы. Если from меньше to, происходит разделение массива
-     * с помощью метода partition, а затем рекурсивно вызывается quickSort для левой и правой части.
+     * Метод параллельно сортирует коллекцию в порядке, указанном при помощи компаратора.
+     * После разделения диапазона левая и правая части сортируются отдельными задачами
+     * в указанном пуле; диапазоны меньше PARALLEL_SORT_THRESHOLD сортируются последовательно.
+     *
+     * @param source     - коллекция для сортировки.
+     * @param comparator - компаратор, указывающий порядок сортировки.
+     * @param pool       - пул потоков, в котором выполняется сортировка.
+     * @param <E>        - тип коллекции.
+     */
+    public static <E> void parallelQuickSort(CustomArrayList<E> source, Comparator<? super E> comparator,
+                                             ForkJoinPool pool) {
+        if (source == null || comparator == null || pool == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        int depthLimit = depthLimit(size);
+        SortProbe probe = CollectionMetrics.isEnabled() ? new SortProbe(depthLimit) : null;
+        Comparator<? super E> effective = probe != null ? probe.counting(comparator) : comparator;
+        pool.invoke(new QuickSortTask<>(source, 0, size - 1, effective, depthLimit, probe));
+        reordered(source);
+        if (probe != null) {
+            CollectionMetrics.recordSort(probe, size);
+        }
+    }
+
+    /**
+     * Метод параллельно сортирует коллекцию, содержащую тип элементов, реализующих
+     * интерфейс Comparable. Используется общий пул ForkJoinPool.commonPool().
+     *
+     * @param source - коллекция для сортировки.
+     * @param <E>    - тип элементов коллекции.
+     */
+    public static <E extends Comparable<E>> void parallelQuickSort(CustomArrayList<E> source) {
+        parallelQuickSort(source, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Метод параллельно сортирует коллекцию, содержащую тип элементов, реализующих
+     * интерфейс Comparable, в указанном пуле потоков.
+     *
+     * @param source - коллекция для сортировки.
+     * @param pool   - пул потоков, в котором выполняется сортировка.
+     * @param <E>    - тип элементов коллекции.
+     */
+    public static <E extends Comparable<E>> void parallelQuickSort(CustomArrayList<E> source, ForkJoinPool pool) {
+        if (source == null) {
+            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+        }
+        parallelQuickSort(source, Comparator.naturalOrder(), pool);
+    }
+
+    /**
+     * Метод сортирует коллекцию значений типа int в порядке возрастания без упаковки элементов.
+     * Используется Arrays.sort, который для примитивов гарантирует O(n log n).
+     *
+     * @param source - коллекция для сортировки.
+     */
+    public static void quickSort(IntCustomArrayList source) {
+        if (source == null) {
+            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+        }
+        Arrays.sort(source.elementData(), 0, source.size());
+    }
+
+    /**
+     * Метод сортирует коллекцию значений типа long в порядке возрастания без упаковки элементов.
+     * Используется Arrays.sort, который для примитивов гарантирует O(n log n).
+     *
+     * @param source - коллекция для сортировки.
+     */
+    public static void quickSort(LongCustomArrayList source) {
+        if (source == null) {
+            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+        }
+        Arrays.sort(source.elementData(), 0, source.size());
+    }
+
+    /**
+     * Метод сортирует коллекцию значений типа double в порядке возрастания без упаковки элементов.
+     * Используется Arrays.sort, который упорядочивает значения так же, как Double.compare.
+     *
+     * @param source - коллекция для сортировки.
+     */
+    public static void quickSort(DoubleCustomArrayList source) {
+        if (source == null) {
+            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+        }
+        Arrays.sort(source.elementData(), 0, source.size());
+    }
+
+    /**
+     * Метод выполняет устойчивую поразрядную сортировку (LSD) коллекции по целочисленному
+     * ключу за линейное время. Ключ вычисляется один раз для каждого элемента; элементы
+     * с равными ключами сохраняют взаимный порядок. Отрицательные ключи упорядочиваются
+     * раньше положительных.
+     *
+     * @param source       - коллекция для сортировки.
+     * @param keyExtractor - функция, возвращающая ключ сортировки элемента.
+     * @param <E>          - тип элементов коллекции.
+     */
+    public static <E> void radixSort(CustomArrayList<E> source, ToIntFunction<? super E> keyExtractor) {
+        if (source == null || keyExtractor == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        Object[] elements = scratchObjects(size);
+        int[] keys = scratchInts(size);
+        int i = 0;
+        for (E element : source) {
+            elements[i] = element;
+            keys[i++] = keyExtractor.applyAsInt(element) ^ Integer.MIN_VALUE;
+        }
+        Object[] scratchElements = scratchObjects(size);
+        int[] scratchKeys = scratchInts(size);
+        for (int shift = 0; shift < Integer.SIZE; shift += RADIX_BITS) {
+            int[] offsets = new int[RADIX + 1];
+            for (int j = 0; j < size; j++) {
+                offsets[((keys[j] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            if (isSingleBucket(offsets, size)) {
+                continue;
+            }
+            for (int bucket = 0; bucket < RADIX; bucket++) {
+                offsets[bucket + 1] += offsets[bucket];
+            }
+            for (int j = 0; j < size; j++) {
+                int position = offsets[(keys[j] >>> shift) & (RADIX - 1)]++;
+                scratchKeys[position] = keys[j];
+                scratchElements[position] = elements[j];
+            }
+            int[] swapKeys = keys;
+            keys = scratchKeys;
+            scratchKeys = swapKeys;
+            Object[] swapElements = elements;
+            elements = scratchElements;
+            scratchElements = swapElements;
+        }
+        writeBack(source, elements, size);
+        releaseScratch(elements, size);
+        releaseScratch(scratchElements, size);
+        releaseScratch(keys);
+        releaseScratch(scratchKeys);
+    }
+
+    /**
+     * Метод выполняет устойчивую поразрядную сортировку (LSD) коллекции по ключу
+     * типа long за линейное время. Ключ вычисляется один раз для каждого элемента;
+     * элементы с равными ключами сохраняют взаимный порядок. Отрицательные ключи
+     * упорядочиваются раньше положительных.
+     *
+     * @param source       - коллекция для сортировки.
+     * @param keyExtractor - функция, возвращающая ключ сортировки элемента.
+     * @param <E>          - тип элементов коллекции.
+     */
+    public static <E> void radixSort(CustomArrayList<E> source, ToLongFunction<? super E> keyExtractor) {
+        if (source == null || keyExtractor == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        Object[] elements = scratchObjects(size);
+        long[] keys = scratchLongs(size);
+        int i = 0;
+        for (E element : source) {
+            elements[i] = element;
+            keys[i++] = keyExtractor.applyAsLong(element) ^ Long.MIN_VALUE;
+        }
+        Object[] scratchElements = scratchObjects(size);
+        long[] scratchKeys = scratchLongs(size);
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            int[] offsets = new int[RADIX + 1];
+            for (int j = 0; j < size; j++) {
+                offsets[(int) ((keys[j] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            if (isSingleBucket(offsets, size)) {
+                continue;
+            }
+            for (int bucket = 0; bucket < RADIX; bucket++) {
+                offsets[bucket + 1] += offsets[bucket];
+            }
+            for (int j = 0; j < size; j++) {
+                int position = offsets[(int) ((keys[j] >>> shift) & (RADIX - 1))]++;
+                scratchKeys[position] = keys[j];
+                scratchElements[position] = elements[j];
+            }
+            long[] swapKeys = keys;
+            keys = scratchKeys;
+            scratchKeys = swapKeys;
+            Object[] swapElements = elements;
+            elements = scratchElements;
+            scratchElements = swapElements;
+        }
+        writeBack(source, elements, size);
+        releaseScratch(elements, size);
+        releaseScratch(scratchElements, size);
+        releaseScratch(keys);
+        releaseScratch(scratchKeys);
+    }
+
+    /**
+     * Метод устойчиво сортирует коллекцию по ключу, вычисляемому один раз для каждого
+     * элемента (decorate-sort-undecorate). Ключи сохраняются в массив, параллельный
+     * коллекции, сортируется перестановка индексов по этим ключам, после чего перестановка
+     * применяется к коллекции на месте, обходом ее циклов. Подходит для компараторов,
+     * которые дорого вычисляют ключ (вложенные поля, разбор строк): ключ вычисляется
+     * n раз вместо O(n log n).
+     *
+     * @param source       - коллекция для сортировки.
+     * @param keyExtractor - функция, возвращающая ключ сортировки элемента; ключи не должны быть null.
+     * @param <E>          - тип элементов коллекции.
+     * @param <K>          - тип ключа.
+     */
+    public static <E, K extends Comparable<? super K>> void sortByKey(CustomArrayList<E> source,
+                                                                       Function<? super E, ? extends K> keyExtractor) {
+        sortByKey(source, keyExtractor, Comparator.naturalOrder());
+    }
+
+    /**
+     * Метод устойчиво сортирует коллекцию по ключу, вычисляемому один раз для каждого
+     * элемента, в порядке, заданном компаратором ключей.
+     *
+     * @param source        - коллекция для сортировки.
+     * @param keyExtractor  - функция, возвращающая ключ сортировки элемента.
+     * @param keyComparator - компаратор ключей.
+     * @param <E>           - тип элементов коллекции.
+     * @param <K>           - тип ключа.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E, K> void sortByKey(CustomArrayList<E> source, Function<? super E, ? extends K> keyExtractor,
+                                        Comparator<? super K> keyComparator) {
+        if (source == null || keyExtractor == null || keyComparator == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        Object[] keys = scratchObjects(size);
+        int i = 0;
+        for (E element : source) {
+            keys[i++] = keyExtractor.apply(element);
+        }
+        applyOrder(source, sortedOrder(size, (a, b) -> keyComparator.compare((K) keys[a], (K) keys[b])));
+        releaseScratch(keys, size);
+    }
+
+    /**
+     * Метод устойчиво сортирует коллекцию по целочисленному ключу, вычисляемому один раз
+     * для каждого элемента. Ключ и исходный индекс упаковываются в одно значение long,
+     * массив которых сортируется как массив примитивов; индекс в младших битах сохраняет
+     * порядок элементов с равными ключами.
+     *
+     * @param source       - коллекция для сортировки.
+     * @param keyExtractor - функция, возвращающая ключ сортировки элемента.
+     * @param <E>          - тип элементов коллекции.
+     */
+    public static <E> void sortByIntKey(CustomArrayList<E> source, ToIntFunction<? super E> keyExtractor) {
+        if (source == null || keyExtractor == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        long[] packed = scratchLongs(size);
+        int i = 0;
+        for (E element : source) {
+            packed[i] = ((long) keyExtractor.applyAsInt(element) << Integer.SIZE) | i;
+            i++;
+        }
+        applyOrder(source, packedOrder(packed, size));
+        releaseScratch(packed);
+    }
+
+    /**
+     * Метод устойчиво сортирует коллекцию по ключу типа long, вычисляемому один раз
+     * для каждого элемента.
+     *
+     * @param source       - коллекция для сортировки.
+     * @param keyExtractor - функция, возвращающая ключ сортировки элемента.
+     * @param <E>          - тип элементов коллекции.
+     */
+    public static <E> void sortByLongKey(CustomArrayList<E> source, ToLongFunction<? super E> keyExtractor) {
+        if (source == null || keyExtractor == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        long[] keys = scratchLongs(size);
+        int i = 0;
+        for (E element : source) {
+            keys[i++] = keyExtractor.applyAsLong(element);
+        }
+        applyOrder(source, sortedOrder(size, (a, b) -> Long.compare(keys[a], keys[b])));
+        releaseScratch(keys);
+    }
+
+    /**
+     * Метод устойчиво сортирует коллекцию по ключу типа double, вычисляемому один раз
+     * для каждого элемента. Ключи упорядочиваются как в Double.compare: -0.0 раньше 0.0,
+     * NaN после всех остальных значений.
+     *
+     * @param source       - коллекция для сортировки.
+     * @param keyExtractor - функция, возвращающая ключ сортировки элемента.
+     * @param <E>          - тип элементов коллекции.
+     */
+    public static <E> void sortByDoubleKey(CustomArrayList<E> source, ToDoubleFunction<? super E> keyExtractor) {
+        if (source == null || keyExtractor == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        long[] keys = scratchLongs(size);
+        int i = 0;
+        for (E element : source) {
+            long bits = Double.doubleToLongBits(keyExtractor.applyAsDouble(element));
+            keys[i++] = bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+        }
+        applyOrder(source, sortedOrder(size, (a, b) -> Long.compare(keys[a], keys[b])));
+        releaseScratch(keys);
+    }
+
+    /**
+     * Метод устойчиво сортирует колоночную коллекцию по одному компоненту записей,
+     * не создавая записей: перестановка индексов вычисляется по массиву колонки, после чего
+     * переставляются все колонки. Компоненты int, short, byte и char сортируются упаковкой
+     * значения и индекса в long, компоненты long, double, float и boolean - сравнением
+     * значений колонки (double и float - как в Double.compare и Float.compare, false раньше
+     * true), ссылочные компоненты - в естественном порядке, null раньше остальных значений.
+     *
+     * @param source    - колоночная коллекция для сортировки.
+     * @param component - имя компонента записи, по которому выполняется сортировка.
+     * @param <E>       - тип записей коллекции.
+     * @throws IllegalArgumentException - если компонента нет.
+     * @throws ClassCastException       - если значения ссылочного компонента не реализуют Comparable.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <E extends Record> void sortByColumn(ColumnarCustomArrayList<E> source, String component) {
+        if (source == null || component == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        Object column = source.columnData(component);
+        int[] order;
+        if (column instanceof int[] ints) {
+            long[] packed = scratchLongs(size);
+            for (int i = 0; i < size; i++) {
+                packed[i] = ((long) ints[i] << Integer.SIZE) | i;
+            }
+            order = packedOrder(packed, size);
+            releaseScratch(packed);
+        } else if (column instanceof long[] longs) {
+            order = sortedOrder(size, (a, b) -> Long.compare(longs[a], longs[b]));
+        } else if (column instanceof double[] doubles) {
+            order = sortedOrder(size, (a, b) -> Double.compare(doubles[a], doubles[b]));
+        } else if (column instanceof float[] floats) {
+            order = sortedOrder(size, (a, b) -> Float.compare(floats[a], floats[b]));
+        } else if (column instanceof boolean[] booleans) {
+            order = sortedOrder(size, (a, b) -> Boolean.compare(booleans[a], booleans[b]));
+        } else {
+            Object[] values = (Object[]) column;
+            Comparator<Object> comparator = Comparator.nullsFirst((Comparator) Comparator.naturalOrder());
+            order = sortedOrder(size, (a, b) -> comparator.compare(values[a], values[b]));
+        }
+        source.permute(order);
+        releaseScratch(order);
+    }
+
+    /**
+     * Метод сортирует коллекцию, которая может не помещаться в памяти целиком (например,
+     * MappedCustomArrayList), внешней сортировкой слиянием. Элементы сортируются порциями
+     * не более maxElementsInMemory, порции сбрасываются во временные файлы при помощи
+     * serializer, а затем сливаются обратно в коллекцию.
+     *
+     * @param source              - коллекция для сортировки.
+     * @param comparator          - компаратор, указывающий порядок сортировки.
+     * @param serializer          - сериализатор элементов для временных файлов.
+     * @param maxElementsInMemory - максимальное количество элементов, сортируемых в памяти.
+     * @param <E>                 - тип элементов коллекции.
+     * @throws IOException - при ошибке работы с временными файлами.
+     */
+    public static <E> void externalSort(CustomArrayList<E> source, Comparator<? super E> comparator,
+                                        ElementSerializer<E> serializer, int maxElementsInMemory)
+            throws IOException {
+        if (source == null) {
+            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+        }
+        int[] index = new int[1];
+        externalSort(source.iterator(), comparator, serializer, maxElementsInMemory,
+                element -> source.set(index[0]++, element));
+    }
+
+    /**
+     * Метод сортирует элементы, полученные из итератора, внешней сортировкой слиянием
+     * и передает их в порядке сортировки в sink. В памяти одновременно находится не
+     * более maxElementsInMemory элементов.
+     *
+     * @param source              - итератор по сортируемым элементам.
+     * @param comparator          - компаратор, указывающий порядок сортировки.
+     * @param serializer          - сериализатор элементов для временных файлов.
+     * @param maxElementsInMemory - максимальное количество элементов, сортируемых в памяти.
+     * @param sink                - получатель отсортированных элементов.
+     * @param <E>                 - тип элементов.
+     * @throws IOException - при ошибке работы с временными файлами.
+     */
+    public static <E> void externalSort(Iterator<? extends E> source, Comparator<? super E> comparator,
+                                        ElementSerializer<E> serializer, int maxElementsInMemory,
+                                        Consumer<? super E> sink) throws IOException {
+        if (source == null || comparator == null || serializer == null || sink == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        if (maxElementsInMemory <= 0) {
+            throw new IllegalArgumentException(MEMORY_BUDGET_MUST_BE_POSITIVE);
+        }
+        ExternalMergeSort.sort(source, comparator, serializer, maxElementsInMemory, sink);
+    }
+
+    /**
+     * Метод находит k-й по порядку компаратора элемент коллекции (k = 0 - наименьший)
+     * быстрым выбором за ожидаемое линейное время. Используется то же трехпутевое
+     * разделение, что и в быстрой сортировке, но продолжается только та часть, в которую
+     * попадает k; при исчерпании допустимой глубины разделений оставшийся диапазон
+     * сортируется пирамидальной сортировкой. После вызова элемент с индексом k стоит на
+     * своем месте в отсортированном порядке, элементы левее него не больше, а правее -
+     * не меньше его.
+     *
+     * @param source     - коллекция, элементы которой переставляются.
+     * @param k          - порядковый номер искомого элемента.
+     * @param comparator - компаратор, указывающий порядок элементов.
+     * @param <E>        - тип элементов коллекции.
+     * @return k-й по порядку элемент.
+     * @throws IndexOutOfBoundsException - если k < 0 или k >= source.size().
+     */
+    public static <E> E select(CustomArrayList<E> source, int k, Comparator<? super E> comparator) {
+        if (source == null || comparator == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        if (k < 0 || k >= size) {
+            throw new IndexOutOfBoundsException(String.format(K_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, k, size));
+        }
+        quickSelect(source, 0, size - 1, k, comparator);
+        reordered(source);
+        return source.get(k);
+    }
+
+    /**
+     * Метод возвращает k первых по порядку компаратора элементов коллекции в
+     * отсортированном виде, не изменяя саму коллекцию. Коллекция просматривается один раз,
+     * кандидаты хранятся в ограниченной куче из k элементов, поэтому время работы
+     * составляет O(n log k), а дополнительная память - O(k). Для получения k наибольших
+     * элементов следует передать обратный компаратор.
+     *
+     * @param source     - коллекция.
+     * @param k          - количество возвращаемых элементов; если оно больше размера
+     *                   коллекции, возвращаются все элементы.
+     * @param comparator - компаратор, указывающий порядок элементов.
+     * @param <E>        - тип элементов коллекции.
+     * @return новая коллекция из не более чем k первых элементов в порядке компаратора.
+     * @throws IllegalArgumentException - если k отрицательно.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> CustomArrayList<E> topK(CustomArrayList<E> source, int k, Comparator<? super E> comparator) {
+        if (source == null || comparator == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException(K_NOT_NEGATIVE);
+        }
+        int count = Math.min(k, source.size());
+        PriorityQueue<E> heap = new PriorityQueue<>(Math.max(count, 1), comparator.reversed());
+        for (E element : source) {
+            if (heap.size() < count) {
+                heap.add(element);
+            } else if (count > 0 && comparator.compare(element, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(element);
+            }
+        }
+        Object[] result = new Object[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = heap.poll();
+        }
+        CustomArrayList<E> top = new CustomArrayListImpl<>(result.length);
+        top.addAll((E[]) result);
+        return top;
+    }
+
+    /**
+     * Метод переставляет элементы коллекции так, что первые k элементов совпадают с
+     * первыми k элементами отсортированной коллекции, а остальные элементы остаются в
+     * неопределенном порядке. Сначала быстрым выбором находится (k - 1)-й элемент, затем
+     * сортируется только диапазон [0, k - 1], что занимает O(n + k log k).
+     *
+     * @param source     - коллекция для частичной сортировки.
+     * @param k          - количество упорядочиваемых первых элементов.
+     * @param comparator - компаратор, указывающий порядок сортировки.
+     * @param <E>        - тип элементов коллекции.
+     * @throws IndexOutOfBoundsException - если k < 0 или k > source.size().
+     */
+    public static <E> void partialSort(CustomArrayList<E> source, int k, Comparator<? super E> comparator) {
+        if (source == null || comparator == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        int size = source.size();
+        if (k < 0 || k > size) {
+            throw new IndexOutOfBoundsException(String.format(K_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, k, size));
+        }
+        if (k == 0) {
+            return;
+        }
+        if (k < size) {
+            quickSelect(source, 0, size - 1, k - 1, comparator);
+        }
+        sortRange(source, 0, k - 1, comparator, depthLimit(k));
+        reordered(source);
+    }
+
+    /**
+     * Метод выполняет устойчивую адаптивную сортировку коллекции (TimSort): находит уже
+     * упорядоченные возрастающие и убывающие серии, дополняет короткие серии двоичной
+     * сортировкой вставками и сливает серии с галопирующим поиском. Элементы, равные по
+     * компаратору, сохраняют взаимный порядок, поэтому последовательные сортировки по
+     * разным ключам дают многоуровневый порядок. На почти упорядоченных данных время
+     * работы близко к линейному. Коллекции CustomArrayListImpl сортируются в массиве элементов,
+     * остальные копируются в массив и записываются обратно, что требует O(n) памяти.
+     *
+     * @param source     - коллекция для сортировки.
+     * @param comparator - компаратор, указывающий порядок сортировки.
+     * @param <E>        - тип элементов коллекции.
+     */
+    public static <E> void timSort(CustomArrayList<E> source, Comparator<? super E> comparator) {
+        if (source == null || comparator == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        if (source instanceof CustomArrayListImpl<?> arrayList) {
+            ArrayTimSort.sort(arrayList.elementData(), 0, source.size() - 1, comparator);
+            arrayList.elementsReordered();
+        } else {
+            Object[] elements = source.toArray();
+            ArrayTimSort.sort(elements, 0, elements.length - 1, comparator);
+            writeBack(source, elements, elements.length);
+        }
+    }
+
+    /**
+     * Метод выполняет устойчивую адаптивную сортировку коллекции, содержащей элементы,
+     * реализующие интерфейс Comparable, в естественном порядке.
+     *
+     * @param source - коллекция для сортировки.
+     * @param <E>    - тип элементов коллекции.
+     */
+    public static <E extends Comparable<E>> void timSort(CustomArrayList<E> source) {
+        if (source == null) {
+            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+        }
+        timSort(source, Comparator.naturalOrder());
+    }
+
+    /**
+     * Быстрый выбор: переставляет элементы диапазона [from, to] так, что элемент с
+     * индексом k занимает свое место в отсортированном порядке.
+     *
+     * @param source     - коллекция.
+     * @param from       - индекс первого элемента диапазона.
+     * @param to         - индекс последнего элемента диапазона.
+     * @param k          - индекс искомого элемента, from <= k <= to.
+     * @param comparator - компаратор, определяющий порадок элементов.
+     * @param <E>        - тип элементов коллекции.
+     */
+    private static <E> void quickSelect(CustomArrayList<E> source, int from, int to, int k,
+                                        Comparator<? super E> comparator) {
+        Object[] array = source instanceof CustomArrayListImpl<?> arrayList ? arrayList.elementData() : null;
+        int depthLimit = depthLimit(to - from + 1);
+        while (to - from + 1 > INSERTION_SORT_THRESHOLD && depthLimit-- > 0) {
+            PartitionBounds bounds = array != null
+                    ? ArrayIntroSort.partition(array, from, to, comparator, null)
+                    : partition(source, from, to, comparator, null);
+            if (k <= bounds.lessTo()) {
+                to = bounds.lessTo();
+            } else if (k >= bounds.greaterFrom()) {
+                from = bounds.greaterFrom();
+            } else {
+                return;
+            }
+        }
+        sortRange(source, from, to, comparator, 0);
+    }
+
+    /**
+     * Сортирует диапазон [from, to] коллекции интроспективной сортировкой, для
+     * коллекций CustomArrayListImpl - непосредственно в массиве.
+     *
+     * @param source     - коллекция для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param depthLimit - допустимая глубина разделений до перехода на пирамидальную сортировку.
+     * @param <E>        - тип элементов коллекции.
+     */
+    private static <E> void sortRange(CustomArrayList<E> source, int from, int to,
+                                      Comparator<? super E> comparator, int depthLimit) {
+        if (source instanceof CustomArrayListImpl<?> arrayList) {
+            ArrayIntroSort.sort(arrayList.elementData(), from, to, comparator, depthLimit, null);
+        } else {
+            introSort(source, from, to, comparator, depthLimit, null);
+        }
+    }
+
+    /**
+     * Интроспективная сортировка диапазона [from, to]. Пока диапазон больше
+     * INSERTION_SORT_THRESHOLD, он разделяется на три части (меньше, равны и больше
+     * опорного элемента); рекурсивный вызов выполняется для меньшей из крайних частей,
+     * а большая обрабатывается в цикле. При исчерпании depthLimit диапазон
+     * досортировывается пирамидальной сортировкой.
      *
      * @param source     - коллекция для сортировки.
      * @param from       - индекс элемента с какого начинать сортировку.
      * @param to         - индекс элемента по который проводить сортировку.
      * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param depthLimit - допустимая глубина разделений до перехода на пирамидальную сортировку.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
      * @param <E>        - тип элементов коллекции.
      */
-    private static <E> void quickSort(CustomArrayList<E> source, int from, int to, Comparator<? super E> comparator) {
-        if (from < to) {
-            int partitionIndex = partition(source, from, to, comparator);
-            quickSort(source, from, partitionIndex - 1, comparator);
-            quickSort(source, partitionIndex + 1, to, comparator);
+    private static <E> void introSort(CustomArrayList<E> source, int from, int to,
+                                      Comparator<? super E> comparator, int depthLimit, SortProbe probe) {
+        while (to - from + 1 > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(source, from, to, comparator, probe);
+                return;
+            }
+            PartitionBounds bounds = partition(source, from, to, comparator, probe);
+            if (probe != null) {
+                probe.partitioned(depthLimit);
+            }
+            if (bounds.lessTo() - from < to - bounds.greaterFrom()) {
+                introSort(source, from, bounds.lessTo(), comparator, depthLimit, probe);
+                from = bounds.greaterFrom();
+            } else {
+                introSort(source, bounds.greaterFrom(), to, comparator, depthLimit, probe);
+                to = bounds.lessTo();
+            }
         }
+        insertionSort(source, from, to, comparator, probe);
     }
 
     /**
-     * Метод определяет положение опорного элемента и переставляет элементы так, чтобы
-     * элементы меньше опорного находились слева от него, а большие — справа.
-     * Этот метод возвращает индекс опорного элемента после перестановки.
+     * Метод выбирает опорный элемент и выполняет трехпутевое разделение диапазона
+     * [from, to]: элементы меньше опорного оказываются слева, равные ему - в середине,
+     * большие - справа. Равные опорному элементы в дальнейшей сортировке не участвуют,
+     * поэтому коллекции с большим числом повторов сортируются за линейное время.
      *
      * @param source     - коллекция для сортировки.
      * @param from       - индекс элемента с какого начинать сортировку.
      * @param to         - индекс элемента по который проводить сортировку.
      * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
      * @param <E>        - тип элементов коллекции.
-     * @return индекс опорного элемента после перестановки.
+     * @return границы частей с элементами меньше и больше опорного.
      */
-    private static <E> int partition(CustomArrayList<E> source, int from, int to, Comparator<? super E> comparator) {
-        E pivot = source.get(to);
-        int i = from - 1;
-        for (int j = from; j < to; j++) {
-            if (comparator.compare(source.get(j), pivot) < 0) {
+    private static <E> PartitionBounds partition(CustomArrayList<E> source, int from, int to,
+                                                 Comparator<? super E> comparator, SortProbe probe) {
+        E pivot = source.get(pivotIndex(source, from, to, comparator));
+        int lt = from;
+        int i = from;
+        int gt = to;
+        while (i <= gt) {
+            int cmp = comparator.compare(source.get(i), pivot);
+            if (cmp < 0) {
+                swap(source, lt++, i++, probe);
+            } else if (cmp > 0) {
+                swap(source, i, gt--, probe);
+            } else {
                 i++;
-                swap(source, i, j);
             }
         }
-        swap(source, i + 1, to);
-        return i + 1;
+        return new PartitionBounds(lt - 1, gt + 1);
     }
 
     /**
-     * Метод сортирующий коллекцию, содержащую тип элементов, реализующих интерфейс Comparable.
+     * Метод выбирает индекс опорного элемента: медиану первого, среднего и последнего
+     * элементов, а для больших диапазонов - медиану трех таких медиан (ninther).
      *
-     * @param source - коллекция для сортировки.
-     * @param <E>    - тип элементов коллекции.
+     * @param source     - коллекция для сортировки.
+     * @param from       - индекс первого элемента диапазона.
+     * @param to         - индекс последнего элемента диапазона.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param <E>        - тип элементов коллекции.
+     * @return индекс опорного элемента.
      */
-    public static <E extends Comparable<E>> void quickSort(CustomArrayList<E> source) {
-        if (source == null) {
-            throw new IllegalArgumentException(SOURCE_LIST_NOT_NULL);
+    private static <E> int pivotIndex(CustomArrayList<E> source, int from, int to, Comparator<? super E> comparator) {
+        int middle = (from + to) >>> 1;
+        if (to - from + 1 < NINTHER_THRESHOLD) {
+            return medianOfThree(source, from, middle, to, comparator);
         }
-        quickSort(source, 0, source.size() - 1);
+        int step = (to - from + 1) / 8;
+        int first = medianOfThree(source, from, from + step, from + 2 * step, comparator);
+        int second = medianOfThree(source, middle - step, middle, middle + step, comparator);
+        int third = medianOfThree(source, to - 2 * step, to - step, to, comparator);
+        return medianOfThree(source, first, second, third, comparator);
     }
 
     /**
-     * Рекурсивный метод quickSort на вход принимает массив, а также нижний (from)
-     * и верхний (to) индексы. Если from меньше to, происходит разделение массива
-     * с помощью метода partition, а затем рекурсивно вызывается quickSort для левой и правой части.
+     * Метод возвращает индекс медианы трех элементов коллекции.
      *
-     * @param source - коллекция для сортировки.
-     * @param from   - индекс элемента с какого начинать сортировку.
-     * @param to     - индекс элемента по который проводить сортировку.
-     * @param <E>    - тип элементов коллекции.
+     * @param source     - коллекция.
+     * @param a          - индекс первого элемента.
+     * @param b          - индекс второго элемента.
+     * @param c          - индекс третьего элемента.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param <E>        - тип элементов коллекции.
+     * @return индекс медианы.
      */
-    private static <E extends Comparable<E>> void quickSort(CustomArrayList<E> source, int from, int to) {
-        if (from < to) {
-            int partitionIndex = partition(source, from, to);
-            quickSort(source, from, partitionIndex - 1);
-            quickSort(source, partitionIndex + 1, to);
+    private static <E> int medianOfThree(CustomArrayList<E> source, int a, int b, int c,
+                                         Comparator<? super E> comparator) {
+        E first = source.get(a);
+        E second = source.get(b);
+        E third = source.get(c);
+        if (comparator.compare(first, second) < 0) {
+            if (comparator.compare(second, third) < 0) {
+                return b;
+            }
+            return comparator.compare(first, third) < 0 ? c : a;
+        }
+        if (comparator.compare(first, third) < 0) {
+            return a;
         }
+        return comparator.compare(second, third) < 0 ? c : b;
     }
 
     /**
-     * Метод определяет положение опорного элемента и переставляет элементы так, чтобы
-     * элементы меньше опорного находились слева от него, а большие — справа.
-     * Этот метод возвращает индекс опорного элемента после перестановки.
+     * Сортировка вставками диапазона [from, to]. Используется для небольших диапазонов,
+     * на которых она быстрее быстрой сортировки.
      *
-     * @param source - коллекция для сортировки.
-     * @param from   - индекс элемента с какого начинать сортировку.
-     * @param to     - индекс элемента по который проводить сортировку.
+     * @param source     - коллекция для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
+     * @param <E>        - тип элементов коллекции.
+     */
+    private static <E> void insertionSort(CustomArrayList<E> source, int from, int to,
+                                          Comparator<? super E> comparator, SortProbe probe) {
+        for (int i = from + 1; i <= to; i++) {
+            E current = source.get(i);
+            int j = i - 1;
+            while (j >= from && comparator.compare(source.get(j), current) > 0) {
+                source.set(j + 1, source.get(j));
+                j--;
+                if (probe != null) {
+                    probe.swap();
+                }
+            }
+            source.set(j + 1, current);
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона [from, to]. Используется, когда быстрая
+     * сортировка превышает допустимую глубину разделений, и гарантирует O(n log n).
+     *
+     * @param source     - коллекция для сортировки.
+     * @param from       - индекс элемента с какого начинать сортировку.
+     * @param to         - индекс элемента по который проводить сортировку.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param probe      - счетчики сортировки или null, если метрики выключены.
+     * @param <E>        - тип элементов коллекции.
+     */
+    private static <E> void heapSort(CustomArrayList<E> source, int from, int to, Comparator<? super E> comparator,
+                                     SortProbe probe) {
+        int length = to - from + 1;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(source, from, i, length, comparator);
+        }
+        for (int last = length - 1; last > 0; last--) {
+            swap(source, from, from + last, probe);
+            siftDown(source, from, 0, last, comparator);
+        }
+    }
+
+    /**
+     * Метод просеивает элемент вниз по двоичной куче, расположенной в коллекции,
+     * начиная с индекса offset.
+     *
+     * @param source     - коллекция, содержащая кучу.
+     * @param offset     - индекс корня кучи в коллекции.
+     * @param index      - индекс просеиваемого элемента относительно offset.
+     * @param length     - количество элементов в куче.
+     * @param comparator - компаратор, определяющий порадок сортировки.
+     * @param <E>        - тип элементов коллекции.
+     */
+    private static <E> void siftDown(CustomArrayList<E> source, int offset, int index, int length,
+                                     Comparator<? super E> comparator) {
+        E element = source.get(offset + index);
+        int child;
+        while ((child = 2 * index + 1) < length) {
+            if (child + 1 < length
+                    && comparator.compare(source.get(offset + child), source.get(offset + child + 1)) < 0) {
+                child++;
+            }
+            E childElement = source.get(offset + child);
+            if (comparator.compare(element, childElement) >= 0) {
+                break;
+            }
+            source.set(offset + index, childElement);
+            index = child;
+        }
+        source.set(offset + index, element);
+    }
+
+    /**
+     * Метод возвращает перестановку индексов [0, size), упорядоченную устойчивой
+     * сортировкой слиянием снизу вверх: отрезки по INSERTION_SORT_THRESHOLD индексов
+     * сортируются вставками, затем сливаются попарно; уже упорядоченные пары отрезков
+     * не сливаются.
+     *
+     * @param size            - количество индексов.
+     * @param indexComparator - сравнение элементов по их индексам.
+     * @return перестановка: order[i] - индекс элемента, который должен стоять на позиции i;
+     * массив может быть длиннее size.
+     */
+    private static int[] sortedOrder(int size, IntBinaryOperator indexComparator) {
+        int[] order = scratchInts(size);
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        for (int from = 0; from < size; from += INSERTION_SORT_THRESHOLD) {
+            int to = Math.min(from + INSERTION_SORT_THRESHOLD, size);
+            for (int i = from + 1; i < to; i++) {
+                int current = order[i];
+                int j = i - 1;
+                while (j >= from && indexComparator.applyAsInt(order[j], current) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = current;
+            }
+        }
+        int[] scratch = scratchInts(size);
+        for (int width = INSERTION_SORT_THRESHOLD; width < size; width <<= 1) {
+            for (int from = 0; from < size; from += 2 * width) {
+                int middle = Math.min(from + width, size);
+                int to = Math.min(from + 2 * width, size);
+                if (middle == to || indexComparator.applyAsInt(order[middle - 1], order[middle]) <= 0) {
+                    System.arraycopy(order, from, scratch, from, to - from);
+                    continue;
+                }
+                int left = from;
+                int right = middle;
+                int position = from;
+                while (left < middle && right < to) {
+                    scratch[position++] = indexComparator.applyAsInt(order[right], order[left]) < 0
+                            ? order[right++] : order[left++];
+                }
+                System.arraycopy(order, left, scratch, position, middle - left);
+                System.arraycopy(order, right, scratch, position + middle - left, to - right);
+            }
+            int[] swap = order;
+            order = scratch;
+            scratch = swap;
+        }
+        releaseScratch(scratch);
+        return order;
+    }
+
+    /**
+     * Метод сортирует массив ключей, упакованных вместе с индексами (ключ в старших
+     * 32 битах, индекс в младших), и возвращает индексы в полученном порядке.
+     *
+     * @param packed - упакованные ключи и индексы.
+     * @param size   - количество ключей в начале массива.
+     * @return перестановка: order[i] - индекс элемента, который должен стоять на позиции i;
+     * массив может быть длиннее size.
+     */
+    private static int[] packedOrder(long[] packed, int size) {
+        Arrays.sort(packed, 0, size);
+        int[] order = scratchInts(size);
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    /**
+     * Метод переставляет элементы коллекции на месте в соответствии с перестановкой,
+     * обходя ее циклы: каждый элемент записывается один раз, дополнительно хранится
+     * только один элемент. Обработанные позиции помечаются в массиве order, после чего
+     * массив возвращается в пул временных массивов.
+     *
+     * @param source - коллекция.
+     * @param order  - перестановка: order[i] - индекс элемента, который должен стоять на позиции i.
      * @param <E>    - тип элементов коллекции.
-     * @return индекс опорного элемента после перестановки.
      */
-    private static <E extends Comparable<E>> int partition(CustomArrayList<E> source, int from, int to) {
-        E pivot = source.get(to);
-        int i = from - 1;
-        for (int j = from; j < to; j++) {
-            if (source.get(j).compareTo(pivot) < 0) {
-                i++;
-                swap(source, i, j);
+    @SuppressWarnings("unchecked")
+    private static <E> void applyOrder(CustomArrayList<E> source, int[] order) {
+        Object[] array = source instanceof CustomArrayListImpl<?> arrayList ? arrayList.elementData() : null;
+        int size = source.size();
+        for (int start = 0; start < size; start++) {
+            if (order[start] < 0 || order[start] == start) {
+                continue;
+            }
+            Object first = array != null ? array[start] : source.get(start);
+            int position = start;
+            while (true) {
+                int next = order[position];
+                order[position] = ~next;
+                if (next == start) {
+                    if (array != null) {
+                        array[position] = first;
+                    } else {
+                        source.set(position, (E) first);
+                    }
+                    break;
+                }
+                if (array != null) {
+                    array[position] = array[next];
+                } else {
+                    source.set(position, source.get(next));
+                }
+                position = next;
             }
         }
-        swap(source, i + 1, to);
-        return i + 1;
+        reordered(source);
+        releaseScratch(order);
+    }
+
+    /**
+     * Метод проверяет, попадают ли все ключи прохода поразрядной сортировки в одну корзину;
+     * такой проход не меняет порядок элементов и пропускается.
+     *
+     * @param counts - количество ключей в корзинах, сдвинутое на одну позицию вправо.
+     * @param size   - общее количество ключей.
+     * @return true, если все ключи находятся в одной корзине.
+     */
+    private static boolean isSingleBucket(int[] counts, int size) {
+        for (int bucket = 1; bucket <= RADIX; bucket++) {
+            if (counts[bucket] != 0) {
+                return counts[bucket] == size;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Метод записывает первые count элементов массива в коллекцию, начиная с индекса 0.
+     *
+     * @param source   - коллекция для записи.
+     * @param elements - элементы в требуемом порядке.
+     * @param count    - количество записываемых элементов.
+     * @param <E>      - тип элементов коллекции.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> void writeBack(CustomArrayList<E> source, Object[] elements, int count) {
+        if (source instanceof CustomArrayListImpl<?> arrayList) {
+            System.arraycopy(elements, 0, arrayList.elementData(), 0, count);
+            arrayList.elementsReordered();
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            source.set(i, (E) elements[i]);
+        }
+    }
+
+    /**
+     * Метод сообщает коллекции CustomArrayListImpl, что ее элементы могли быть переставлены
+     * непосредственно в массиве.
+     *
+     * @param source - коллекция.
+     */
+    private static void reordered(CustomArrayList<?> source) {
+        if (source instanceof CustomArrayListImpl<?> arrayList) {
+            arrayList.elementsReordered();
+        }
+    }
+
+    /**
+     * Метод возвращает временный массив ссылок длиной не меньше length из пула или новый.
+     *
+     * @param length - требуемая длина.
+     * @return временный массив.
+     */
+    private static Object[] scratchObjects(int length) {
+        ArrayPool pool = scratchPool;
+        return pool != null ? pool.borrow(length) : new Object[length];
+    }
+
+    /**
+     * Метод возвращает временный массив int длиной не меньше length из пула или новый.
+     *
+     * @param length - требуемая длина.
+     * @return временный массив.
+     */
+    private static int[] scratchInts(int length) {
+        ArrayPool pool = scratchPool;
+        return pool != null ? pool.borrowInts(length) : new int[length];
+    }
+
+    /**
+     * Метод возвращает временный массив long длиной не меньше length из пула или новый.
+     *
+     * @param length - требуемая длина.
+     * @return временный массив.
+     */
+    private static long[] scratchLongs(int length) {
+        ArrayPool pool = scratchPool;
+        return pool != null ? pool.borrowLongs(length) : new long[length];
+    }
+
+    /**
+     * Метод возвращает временный массив ссылок в пул, очищая первые used элементов.
+     *
+     * @param array - временный массив.
+     * @param used  - количество заполненных элементов.
+     */
+    private static void releaseScratch(Object[] array, int used) {
+        ArrayPool pool = scratchPool;
+        if (pool != null) {
+            pool.release(array, used);
+        }
+    }
+
+    /**
+     * Метод возвращает временный массив int в пул.
+     *
+     * @param array - временный массив.
+     */
+    private static void releaseScratch(int[] array) {
+        ArrayPool pool = scratchPool;
+        if (pool != null) {
+            pool.releaseInts(array);
+        }
+    }
+
+    /**
+     * Метод возвращает временный массив long в пул.
+     *
+     * @param array - временный массив.
+     */
+    private static void releaseScratch(long[] array) {
+        ArrayPool pool = scratchPool;
+        if (pool != null) {
+            pool.releaseLongs(array);
+        }
+    }
+
+    /**
+     * Метод вычисляет допустимую глубину разделений для коллекции заданного размера: 2 * log2(size).
+     *
+     * @param size - размер сортируемой коллекции.
+     * @return допустимая глубина разделений.
+     */
+    private static int depthLimit(int size) {
+        return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(size, 1)));
     }
 
     /**
@@ -132,12 +1189,73 @@ public class SortUtils {
      * @param source - коллекция в которой необходимо поменять местами элементы.
      * @param index1 - индекс первого элемента.
      * @param index2 - индекс второго элемента.
+     * @param probe  - счетчики сортировки или null, если метрики выключены.
      * @param <E>    - тип элементов коллекции.
      */
-    private static <E> void swap(CustomArrayList<E> source, int index1, int index2) {
+    private static <E> void swap(CustomArrayList<E> source, int index1, int index2, SortProbe probe) {
         E temp = source.get(index1);
         source.set(index1, source.get(index2));
         source.set(index2, temp);
+        if (probe != null) {
+            probe.swap();
+        }
     }
 
+    /**
+     * Границы частей после трехпутевого разделения: элементы с индексами
+     * [from, lessTo] меньше опорного, [greaterFrom, to] - больше опорного,
+     * между ними находятся элементы, равные опорному.
+     *
+     * @param lessTo      - индекс последнего элемента, меньшего опорного.
+     * @param greaterFrom - индекс первого элемента, большего опорного.
+     */
+    record PartitionBounds(int lessTo, int greaterFrom) {
+    }
+
+    /**
+     * Задача параллельной сортировки диапазона [from, to] коллекции.
+     * Разные задачи работают с непересекающимися диапазонами, поэтому обращения
+     * к коллекции через get/set не требуют синхронизации.
+     *
+     * @param <E> - тип элементов коллекции.
+     */
+    private static final class QuickSortTask<E> extends RecursiveAction {
+        private final CustomArrayList<E> source;
+        private final int from;
+        private final int to;
+        private final Comparator<? super E> comparator;
+        private final int depthLimit;
+        private final SortProbe probe;
+
+        private QuickSortTask(CustomArrayList<E> source, int from, int to, Comparator<? super E> comparator,
+                              int depthLimit, SortProbe probe) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.comparator = comparator;
+            this.depthLimit = depthLimit;
+            this.probe = probe;
+        }
+
+        @Override
+        protected void compute() {
+            Object[] array = source instanceof CustomArrayListImpl<?> arrayList ? arrayList.elementData() : null;
+            if (to - from < PARALLEL_SORT_THRESHOLD || depthLimit == 0) {
+                if (array != null) {
+                    ArrayIntroSort.sort(array, from, to, comparator, depthLimit, probe);
+                } else {
+                    introSort(source, from, to, comparator, depthLimit, probe);
+                }
+                return;
+            }
+            PartitionBounds bounds = array != null
+                    ? ArrayIntroSort.partition(array, from, to, comparator, probe)
+                    : partition(source, from, to, comparator, probe);
+            if (probe != null) {
+                probe.partitioned(depthLimit - 1);
+            }
+            invokeAll(new QuickSortTask<>(source, from, bounds.lessTo(), comparator, depthLimit - 1, probe),
+                    new QuickSortTask<>(source, bounds.greaterFrom(), to, comparator, depthLimit - 1, probe));
+        }
+    }
 }
@@ -0,0 +1,556 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Динамический массив, элементы которого всегда упорядочены по заданному компаратору.
+ * Элемент добавляется в позицию, найденную двоичным поиском, после всех равных ему
+ * элементов, поэтому порядок добавления равных элементов сохраняется. Пакет элементов
+ * добавляется методом addAllSorted: пакет сортируется, а затем сливается с коллекцией
+ * за линейное время, начиная с конца массива, так что элементы, меньшие первого
+ * элемента пакета, не перемещаются вовсе. Для почти отсортированных данных, которые
+ * добавляются в конец, это стоит O(m log m) на пакет из m элементов вместо
+ * O(n log n) на полную пересортировку коллекции.
+ * Операции, нарушающие порядок (вставка и замена по индексу, сортировка другим
+ * компаратором), не поддерживаются.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class SortedCustomArrayList<E> implements CustomArrayList<E> {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException для диапазона.
+     */
+    private static final String RANGE_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "from: %d, to: %d, size: %d";
+    /**
+     * Сообщение при установке отрицательного capacity.
+     */
+    private static final String START_CAPACITY_NOT_LESS_THEN_ZERO = "start capacity must not be less then 0";
+    /**
+     * Сообщение при передаче null в качестве аргумента.
+     */
+    private static final String ARGUMENT_NOT_NULL = "Arguments must not be null";
+    /**
+     * Сообщение при попытке нарушить порядок элементов.
+     */
+    private static final String ORDER_IS_FIXED = "sorted list order is defined by its comparator";
+    /**
+     * Сообщение при изменении представления диапазона.
+     */
+    private static final String VIEW_IS_READ_ONLY = "range view is read-only";
+    /**
+     * Сообщение при неверных границах диапазона.
+     */
+    private static final String ILLEGAL_RANGE = "from element must not be greater then to element";
+    /**
+     * Стартовый размер коллекции при инициализации.
+     */
+    private static final int START_CAPACITY = 10;
+
+    /**
+     * Компаратор, задающий порядок элементов.
+     */
+    private final Comparator<? super E> comparator;
+    /**
+     * Массив для хранения элементов коллекции.
+     */
+    private Object[] elementData;
+    /**
+     * Количество элементов в коллекции.
+     */
+    private int size = 0;
+    /**
+     * Счетчик структурных изменений, по которому представления диапазонов
+     * обнаруживают изменение коллекции.
+     */
+    private int modCount = 0;
+
+    /**
+     * Конструктор - создание коллекции, упорядоченной по компаратору, с вместимостью
+     * для 10 элементов.
+     *
+     * @param comparator - компаратор, задающий порядок элементов.
+     * @throws IllegalArgumentException - если comparator равен null.
+     */
+    public SortedCustomArrayList(Comparator<? super E> comparator) {
+        this(comparator, START_CAPACITY);
+    }
+
+    /**
+     * Конструктор - создание коллекции, упорядоченной по компаратору, с вместимостью startCapacity.
+     *
+     * @param comparator    - компаратор, задающий порядок элементов.
+     * @param startCapacity - значение стартовой вместимости.
+     * @throws IllegalArgumentException - если comparator равен null или стартовая
+     *                                  вместимость отрицательна.
+     */
+    public SortedCustomArrayList(Comparator<? super E> comparator, int startCapacity) {
+        if (comparator == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        if (startCapacity < 0) {
+            throw new IllegalArgumentException(START_CAPACITY_NOT_LESS_THEN_ZERO);
+        }
+        this.comparator = comparator;
+        this.elementData = new Object[startCapacity];
+    }
+
+    /**
+     * Возвращает компаратор, задающий порядок элементов.
+     *
+     * @return компаратор коллекции.
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Добавляет элемент в позицию, сохраняющую порядок, после всех равных ему элементов.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    @Override
+    public void add(E element) {
+        int index = upperBound(element);
+        ensureCapacity(size + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        elementData[index] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Не поддерживается: позиция элемента определяется компаратором.
+     *
+     * @throws UnsupportedOperationException - всегда.
+     */
+    @Override
+    public void add(int index, E element) {
+        throw new UnsupportedOperationException(ORDER_IS_FIXED);
+    }
+
+    /**
+     * Добавляет все элементы массива с сохранением порядка (см. addAllSorted).
+     *
+     * @param elements - массив добавляемых элементов.
+     */
+    @Override
+    public void addAll(E[] elements) {
+        addAllSorted(elements);
+    }
+
+    /**
+     * Добавляет все элементы другой коллекции с сохранением порядка (см. addAllSorted).
+     *
+     * @param elements - коллекция добавляемых элементов.
+     */
+    @Override
+    public void addAll(CustomArrayList<? extends E> elements) {
+        addAllSorted(elements);
+    }
+
+    /**
+     * Добавляет пакет элементов: копия пакета сортируется (сортировка слиянием, линейная
+     * на уже упорядоченных данных), после чего сливается с коллекцией от конца массива
+     * к началу. Элементы коллекции, не большие первого элемента пакета, не перемещаются.
+     * Равные элементы пакета располагаются после уже имеющихся.
+     *
+     * @param elements - массив добавляемых элементов. Сам массив не изменяется.
+     * @throws IllegalArgumentException - если elements равен null.
+     */
+    @SuppressWarnings("unchecked")
+    public void addAllSorted(E[] elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        Object[] batch = Arrays.copyOf(elements, elements.length, Object[].class);
+        Arrays.sort((E[]) batch, comparator);
+        mergeSorted(batch);
+    }
+
+    /**
+     * Добавляет все элементы другой коллекции пакетом (см. addAllSorted(E[])).
+     *
+     * @param elements - коллекция добавляемых элементов.
+     * @throws IllegalArgumentException - если elements равен null.
+     */
+    @SuppressWarnings("unchecked")
+    public void addAllSorted(CustomArrayList<? extends E> elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException(ARGUMENT_NOT_NULL);
+        }
+        Object[] batch = Arrays.copyOf(elements.toArray(), elements.size(), Object[].class);
+        Arrays.sort((E[]) batch, comparator);
+        mergeSorted(batch);
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) elementData[index];
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом.
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        Object element = elementData[index];
+        System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+        elementData[--size] = null;
+        modCount++;
+        return (E) element;
+    }
+
+    /**
+     * Удаляет из коллекции элементы с индексами от from (включительно) до to
+     * (не включительно) одним копированием хвоста.
+     *
+     * @param from - индекс первого удаляемого элемента.
+     * @param to   - индекс, следующий за последним удаляемым элементом.
+     * @throws IndexOutOfBoundsException - при неверном диапазоне.
+     *                                   (from < 0 || to > size() || from > to)
+     */
+    @Override
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(String.format(RANGE_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, from, to, size));
+        }
+        System.arraycopy(elementData, to, elementData, from, size - to);
+        int newSize = size - (to - from);
+        Arrays.fill(elementData, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    /**
+     * Очищает коллекцию.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(elementData, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Ничего не делает: коллекция всегда упорядочена по своему компаратору.
+     */
+    @Override
+    public void sort() {
+    }
+
+    /**
+     * Не поддерживается: порядок элементов определяется компаратором коллекции.
+     *
+     * @throws UnsupportedOperationException - всегда.
+     */
+    @Override
+    public void sort(Comparator<E> comparator) {
+        throw new UnsupportedOperationException(ORDER_IS_FIXED);
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции в порядке компаратора.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        return (E[]) Arrays.copyOf(elementData, size);
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов).
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Не поддерживается: замена элемента может нарушить порядок.
+     *
+     * @throws UnsupportedOperationException - всегда.
+     */
+    @Override
+    public void set(int index, E element) {
+        throw new UnsupportedOperationException(ORDER_IS_FIXED);
+    }
+
+    /**
+     * Увеличивает вместимость коллекции, если это необходимо, чтобы она могла
+     * хранить не менее minCapacity элементов без повторного выделения памяти.
+     *
+     * @param minCapacity - требуемая минимальная вместимость.
+     */
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elementData.length) {
+            elementData = Arrays.copyOf(elementData, GrowthPolicy.DEFAULT.newCapacity(elementData.length, minCapacity));
+        }
+    }
+
+    /**
+     * Возвращает Spliterator по массиву элементов без копирования.
+     *
+     * @return Spliterator по элементам коллекции.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(elementData, 0, size, Spliterator.ORDERED);
+    }
+
+    /**
+     * Ищет элемент двоичным поиском.
+     *
+     * @param key - искомый элемент.
+     * @return индекс первого элемента, равного key, если он есть в коллекции,
+     * иначе (-(точка вставки) - 1), где точка вставки - индекс первого элемента,
+     * большего key, или size(), если такого нет.
+     */
+    public int binarySearch(E key) {
+        int index = lowerBound(key);
+        if (index < size && compareAt(index, key) == 0) {
+            return index;
+        }
+        return -(index + 1);
+    }
+
+    /**
+     * Возвращает наибольший элемент, не больший key.
+     *
+     * @param key - элемент для сравнения.
+     * @return наибольший элемент, не больший key, или null, если такого нет.
+     */
+    @SuppressWarnings("unchecked")
+    public E floor(E key) {
+        int index = upperBound(key) - 1;
+        return index >= 0 ? (E) elementData[index] : null;
+    }
+
+    /**
+     * Возвращает наименьший элемент, не меньший key.
+     *
+     * @param key - элемент для сравнения.
+     * @return наименьший элемент, не меньший key, или null, если такого нет.
+     */
+    @SuppressWarnings("unchecked")
+    public E ceiling(E key) {
+        int index = lowerBound(key);
+        return index < size ? (E) elementData[index] : null;
+    }
+
+    /**
+     * Возвращает представление элементов, не меньших from и меньших to, только для
+     * чтения. Представление не копирует элементы; после структурного изменения
+     * коллекции обращение к нему приводит к ConcurrentModificationException.
+     *
+     * @param from - нижняя граница диапазона (включительно).
+     * @param to   - верхняя граница диапазона (не включительно).
+     * @return представление диапазона.
+     * @throws IllegalArgumentException - если from больше to.
+     */
+    public CustomArrayList<E> rangeView(E from, E to) {
+        if (comparator.compare(from, to) > 0) {
+            throw new IllegalArgumentException(ILLEGAL_RANGE);
+        }
+        return new RangeView(lowerBound(from), lowerBound(to));
+    }
+
+    /**
+     * Сливает отсортированный пакет с коллекцией, заполняя массив с конца.
+     *
+     * @param batch - отсортированный пакет элементов.
+     */
+    @SuppressWarnings("unchecked")
+    private void mergeSorted(Object[] batch) {
+        if (batch.length == 0) {
+            return;
+        }
+        ensureCapacity(size + batch.length);
+        int i = size - 1;
+        int j = batch.length - 1;
+        int k = size + batch.length - 1;
+        while (j >= 0) {
+            if (i >= 0 && comparator.compare((E) elementData[i], (E) batch[j]) > 0) {
+                elementData[k--] = elementData[i--];
+            } else {
+                elementData[k--] = batch[j--];
+            }
+        }
+        size += batch.length;
+        modCount++;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, не меньшего key.
+     *
+     * @param key - элемент для сравнения.
+     * @return индекс первого элемента, не меньшего key, или size.
+     */
+    private int lowerBound(E key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareAt(middle, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Возвращает индекс первого элемента, большего key.
+     *
+     * @param key - элемент для сравнения.
+     * @return индекс первого элемента, большего key, или size.
+     */
+    private int upperBound(E key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareAt(middle, key) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Сравнивает элемент коллекции с указанным индексом с key.
+     *
+     * @param index - индекс элемента коллекции.
+     * @param key   - элемент для сравнения.
+     * @return результат сравнения компаратором коллекции.
+     */
+    @SuppressWarnings("unchecked")
+    private int compareAt(int index, E key) {
+        return comparator.compare((E) elementData[index], key);
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index - индекс для проверки.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+    }
+
+    /**
+     * Представление диапазона индексов [from, to) коллекции только для чтения.
+     */
+    private final class RangeView implements CustomArrayList<E> {
+        private final int from;
+        private final int to;
+        private final int expectedModCount = modCount;
+
+        private RangeView(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            checkForModification();
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, to - from));
+            }
+            return (E) elementData[from + index];
+        }
+
+        @Override
+        public int size() {
+            checkForModification();
+            return to - from;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E[] toArray() {
+            checkForModification();
+            return (E[]) Arrays.copyOfRange(elementData, from, to);
+        }
+
+        @Override
+        public void add(E element) {
+            throw new UnsupportedOperationException(VIEW_IS_READ_ONLY);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            throw new UnsupportedOperationException(VIEW_IS_READ_ONLY);
+        }
+
+        @Override
+        public E remove(int index) {
+            throw new UnsupportedOperationException(VIEW_IS_READ_ONLY);
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException(VIEW_IS_READ_ONLY);
+        }
+
+        @Override
+        public void sort() {
+            throw new UnsupportedOperationException(VIEW_IS_READ_ONLY);
+        }
+
+        @Override
+        public void sort(Comparator<E> comparator) {
+            throw new UnsupportedOperationException(VIEW_IS_READ_ONLY);
+        }
+
+        @Override
+        public void set(int index, E element) {
+            throw new UnsupportedOperationException(VIEW_IS_READ_ONLY);
+        }
+
+        private void checkForModification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.aston.trainee;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Реализация CustomArrayList на основе блоков фиксированного размера (tiered vector).
+ * Каждый блок - кольцевой буфер на 2^blockShift элементов; все блоки, кроме последнего,
+ * заполнены полностью, поэтому блок и позиция элемента вычисляются по индексу за O(1).
+ * Вставка и удаление в середине сдвигают элементы только внутри одного блока, а в
+ * последующих блоках переносят по одному крайнему элементу, что занимает
+ * O(b + n / b) вместо O(n) у CustomArrayListImpl (b - размер блока). При размере
+ * блока порядка sqrt(n) это дает O(sqrt(n)) на операцию.
+ * Массив последнего блока создается небольшим и удваивается по мере заполнения до
+ * 2^blockShift элементов, поэтому небольшая коллекция не занимает целый блок.
+ *
+ * @param <E> - тип элементов в коллекции.
+ * @author Siarhei Zmushko
+ * @version 1.0
+ */
+public class TieredCustomArrayList<E> implements CustomArrayList<E> {
+    /**
+     * Строка для форматирования сообщения при выбросе IndexOutOfBoundException.
+     */
+    private static final String INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE = "index: %d, size: %d";
+    /**
+     * Сообщение при неверном размере блока.
+     */
+    private static final String ILLEGAL_BLOCK_SHIFT = "block shift must be from 1 to 20";
+    /**
+     * Наибольший логарифм размера блока (блоки до 2^20 элементов).
+     */
+    private static final int MAX_BLOCK_SHIFT = 20;
+    /**
+     * Начальная вместимость массива блока.
+     */
+    private static final int BLOCK_START_CAPACITY = 16;
+    /**
+     * Логарифм размера блока по умолчанию (1024 элемента, что соответствует
+     * спискам порядка миллиона элементов).
+     */
+    private static final int DEFAULT_BLOCK_SHIFT = 10;
+
+    /**
+     * Логарифм размера блока.
+     */
+    private final int blockShift;
+    /**
+     * Маска для вычисления позиции элемента внутри блока.
+     */
+    private final int blockMask;
+    /**
+     * Блоки с элементами коллекции.
+     */
+    private Block[] blocks = new Block[4];
+    /**
+     * Количество блоков.
+     */
+    private int blockCount = 0;
+    /**
+     * Количество элементов в коллекции.
+     */
+    private int size = 0;
+
+    /**
+     * Конструктор - создание коллекции с блоками по 1024 элемента.
+     */
+    public TieredCustomArrayList() {
+        this(DEFAULT_BLOCK_SHIFT);
+    }
+
+    /**
+     * Конструктор - создание коллекции с блоками по 2^blockShift элементов.
+     * Оптимальный размер блока - порядка квадратного корня из ожидаемого размера коллекции.
+     *
+     * @param blockShift - логарифм размера блока.
+     * @throws IllegalArgumentException - при неверном размере блока.
+     */
+    public TieredCustomArrayList(int blockShift) {
+        if (blockShift < 1 || blockShift > MAX_BLOCK_SHIFT) {
+            throw new IllegalArgumentException(ILLEGAL_BLOCK_SHIFT);
+        }
+        this.blockShift = blockShift;
+        this.blockMask = (1 << blockShift) - 1;
+    }
+
+    /**
+     * Добавляет элемент в конец коллекции.
+     *
+     * @param element - доавляемый элемент в коллекцию.
+     */
+    @Override
+    public void add(E element) {
+        lastBlockWithSpace().addLast(element);
+        size++;
+    }
+
+    /**
+     * Вставляет элемент по индексу, при этом, те элементы, индекс которых
+     * больше - смещаются на 1 позицию вправо.
+     *
+     * @param index   - индекс для вставки элемента.
+     * @param element - элемент для вставки в коллекцию.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index);
+        int blockIndex = index >>> blockShift;
+        Block block = blocks[blockIndex];
+        boolean overflow = block.isFull();
+        Object carry = overflow ? block.removeLast() : null;
+        block.insert(index & blockMask, element);
+        for (int i = blockIndex + 1; overflow && i < blockCount; i++) {
+            Block next = blocks[i];
+            overflow = next.isFull();
+            Object nextCarry = overflow ? next.removeLast() : null;
+            next.addFirst(carry);
+            carry = nextCarry;
+        }
+        if (overflow) {
+            lastBlockWithSpace().addLast(carry);
+        }
+        size++;
+    }
+
+    /**
+     * Возвращает элемент из коллекции по индексу.
+     *
+     * @param index - индекс элемента для получения.
+     * @return элемент из коллекции по указанному индексу.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) blocks[index >>> blockShift].get(index & blockMask);
+    }
+
+    /**
+     * Удаляет элемент из коллекции с указанным индексом. Освободившееся место
+     * заполняется первым элементом следующего блока, и так до последнего блока.
+     *
+     * @param index - индекс элемента для удаления.
+     * @return возвращает удаленный элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        int blockIndex = index >>> blockShift;
+        Object element = blocks[blockIndex].remove(index & blockMask);
+        for (int i = blockIndex + 1; i < blockCount; i++) {
+            blocks[i - 1].addLast(blocks[i].removeFirst());
+        }
+        if (blocks[blockCount - 1].size == 0) {
+            blocks[--blockCount] = null;
+        }
+        size--;
+        return (E) element;
+    }
+
+    /**
+     * Очищает коллекцию.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(blocks, 0, blockCount, null);
+        blockCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Сортирует эллементы в коллекции в естественном порядке.
+     */
+    @Override
+    public void sort() {
+        Object[] elements = toArray();
+        Arrays.sort(elements);
+        refill(elements);
+    }
+
+    /**
+     * Устойчиво сортирует элементы в коллекции по заданному компаратору при помощи
+     * SortUtils.timSort.
+     *
+     * @param comparator - компаратор, задающий порядок сортировки.
+     */
+    @Override
+    public void sort(Comparator<E> comparator) {
+        SortUtils.timSort(this, comparator);
+    }
+
+    /**
+     * Возвращает массив, содержащий все элементы колеллекции.
+     *
+     * @return массив, содержащий все элементы колеллекции.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] toArray() {
+        Object[] result = new Object[size];
+        int position = 0;
+        for (int i = 0; i < blockCount; i++) {
+            position = blocks[i].copyTo(result, position);
+        }
+        return (E[]) result;
+    }
+
+    /**
+     * Возвращает размер коллекции (количество элементов).
+     *
+     * @return размер коллекции (количество элементов).
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Заменяет элемент в коллекции с указанным индексом.
+     *
+     * @param index   - индекс позиции для вставки элемента.
+     * @param element - заменяющий элемент.
+     * @throws IndexOutOfBoundsException - при выходе за пределы массива.
+     *                                   (index < 0 || index >= size())
+     */
+    @Override
+    public void set(int index, E element) {
+        checkIndex(index);
+        blocks[index >>> blockShift].set(index & blockMask, element);
+    }
+
+    /**
+     * Заполняет блоки элементами массива по порядку.
+     *
+     * @param elements - элементы в требуемом порядке.
+     */
+    private void refill(Object[] elements) {
+        for (int i = 0; i < elements.length; i++) {
+            blocks[i >>> blockShift].set(i & blockMask, elements[i]);
+        }
+    }
+
+    /**
+     * Возвращает последний блок, если в нем есть место, иначе добавляет новый пустой блок
+     * с массивом начальной вместимости.
+     *
+     * @return блок для добавления элемента в конец коллекции.
+     */
+    private Block lastBlockWithSpace() {
+        if (blockCount > 0 && !blocks[blockCount - 1].isFull()) {
+            return blocks[blockCount - 1];
+        }
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blocks.length * 2);
+        }
+        Block block = new Block(1 << blockShift);
+        blocks[blockCount++] = block;
+        return block;
+    }
+
+    /**
+     * Проверяет индекс массива.
+     *
+     * @param index - индекс для проверки.
+     * @throws IndexOutOfBoundsException - выбрасывается исключение при выходе за пределы массива
+     *                                   (index < 0 || index >= size).
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format(INDEX_OUT_OF_BOUND_EXCEPTION_FORMAT_MESSAGE, index, size));
+        }
+    }
+
+    /**
+     * Блок - кольцевой буфер вместимостью до maxCapacity элементов (степень двойки),
+     * позволяющий добавлять и удалять элементы с обоих концов за O(1). Массив блока
+     * удваивается при заполнении, пока не достигнет maxCapacity.
+     */
+    private static final class Block {
+        private final int maxCapacity;
+        private Object[] data;
+        private int mask;
+        private int head = 0;
+        private int size = 0;
+
+        private Block(int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+            this.data = new Object[Math.min(maxCapacity, BLOCK_START_CAPACITY)];
+            this.mask = data.length - 1;
+        }
+
+        private boolean isFull() {
+            return size == maxCapacity;
+        }
+
+        /**
+         * Удваивает массив блока, если он заполнен; элементы переносятся в начало нового массива.
+         */
+        private void ensureSpace() {
+            if (size == data.length) {
+                Object[] grown = new Object[data.length * 2];
+                copyTo(grown, 0);
+                data = grown;
+                mask = grown.length - 1;
+                head = 0;
+            }
+        }
+
+        private Object get(int offset) {
+            return data[(head + offset) & mask];
+        }
+
+        private void set(int offset, Object element) {
+            data[(head + offset) & mask] = element;
+        }
+
+        private void addFirst(Object element) {
+            ensureSpace();
+            head = (head - 1) & mask;
+            data[head] = element;
+            size++;
+        }
+
+        private void addLast(Object element) {
+            ensureSpace();
+            data[(head + size) & mask] = element;
+            size++;
+        }
+
+        private Object removeFirst() {
+            Object element = data[head];
+            data[head] = null;
+            head = (head + 1) & mask;
+            size--;
+            return element;
+        }
+
+        private Object removeLast() {
+            int tail = (head + size - 1) & mask;
+            Object element = data[tail];
+            data[tail] = null;
+            size--;
+            return element;
+        }
+
+        /**
+         * Вставляет элемент в позицию offset, сдвигая меньшую из частей блока.
+         */
+        private void insert(int offset, Object element) {
+            ensureSpace();
+            if (offset < size / 2) {
+                head = (head - 1) & mask;
+                for (int i = 0; i < offset; i++) {
+                    data[(head + i) & mask] = data[(head + i + 1) & mask];
+                }
+            } else {
+                for (int i = size; i > offset; i--) {
+                    data[(head + i) & mask] = data[(head + i - 1) & mask];
+                }
+            }
+            data[(head + offset) & mask] = element;
+            size++;
+        }
+
+        /**
+         * Удаляет элемент из позиции offset, сдвигая меньшую из частей блока.
+         */
+        private Object remove(int offset) {
+            Object element = get(offset);
+            if (offset < size / 2) {
+                for (int i = offset; i > 0; i--) {
+                    data[(head + i) & mask] = data[(head + i - 1) & mask];
+                }
+                data[head] = null;
+                head = (head + 1) & mask;
+            } else {
+                for (int i = offset; i < size - 1; i++) {
+                    data[(head + i) & mask] = data[(head + i + 1) & mask];
+                }
+                data[(head + size - 1) & mask] = null;
+            }
+            size--;
+            return element;
+        }
+
+        private int copyTo(Object[] target, int position) {
+            int first = Math.min(size, data.length - head);
+            System.arraycopy(data, head, target, position, first);
+            System.arraycopy(data, 0, target, position + first, size - first);
+            return position + size;
+        }
+    }
+}
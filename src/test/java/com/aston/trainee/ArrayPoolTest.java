@@ -0,0 +1,37 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrayPoolTest {
+
+    private final ArrayPool pool = new ArrayPool(2, 1024);
+
+    @Test
+    public void borrowRoundsUpToSizeClassAndReusesArraysTest() {
+        Object[] array = pool.borrow(10);
+        assertEquals(16, array.length);
+        array[3] = "element";
+        pool.release(array, 4);
+        assertEquals(1, pool.pooledArrays());
+        Object[] reused = pool.borrow(12);
+        assertSame(array, reused);
+        assertNull(reused[3]);
+        assertEquals(0, pool.pooledArrays());
+        assertEquals(64, pool.borrowInts(33).length);
+        assertEquals(1024, pool.borrowLongs(1000).length);
+    }
+
+    @Test
+    public void poolKeepsOnlyBoundedNumberOfClassArraysTest() {
+        pool.release(new Object[32], 0);
+        pool.release(new Object[32], 0);
+        pool.release(new Object[32], 0);
+        pool.release(new Object[30], 0);
+        pool.release(new Object[2048], 0);
+        assertEquals(2, pool.pooledArrays());
+        assertEquals(4096, pool.borrow(4096).length);
+        assertThrows(IllegalArgumentException.class, () -> new ArrayPool(0, 16));
+    }
+}
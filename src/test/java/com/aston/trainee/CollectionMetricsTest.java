@@ -0,0 +1,119 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollectionMetricsTest {
+
+    @BeforeEach
+    public void setUp() {
+        CollectionMetrics.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CollectionMetrics.setEnabled(false);
+        CollectionMetrics.reset();
+    }
+
+    @Test
+    public void disabledMetricsAreNotCollectedTest() {
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        SortUtils.quickSort(list, Comparator.reverseOrder());
+        assertEquals(0, CollectionMetrics.getResizeCount());
+        assertEquals(0, CollectionMetrics.getCopiedElements());
+        assertEquals(0, CollectionMetrics.getSortCount());
+    }
+
+    @Test
+    public void resizesAndCopiesAreCountedTest() {
+        CollectionMetrics.setEnabled(true);
+        List<int[]> resizes = new ArrayList<>();
+        CollectionMetricsListener listener = new CollectionMetricsListener() {
+            @Override
+            public void onResize(int oldCapacity, int newCapacity) {
+                resizes.add(new int[]{oldCapacity, newCapacity});
+            }
+        };
+        CollectionMetrics.addListener(listener);
+        try {
+            CustomArrayListImpl<Integer> list = new CustomArrayListImpl<>(2);
+            list.add(1);
+            list.add(2);
+            list.add(3);
+            assertEquals(1, CollectionMetrics.getResizeCount());
+            assertEquals(2, CollectionMetrics.getCopiedElements());
+            assertEquals(list.capacity(), CollectionMetrics.getPeakCapacity());
+            assertEquals(1, resizes.size());
+            assertEquals(2, resizes.get(0)[0]);
+
+            list.add(0, 0);
+            list.remove(0);
+            assertEquals(2 + 3 + 3, CollectionMetrics.getCopiedElements());
+        } finally {
+            CollectionMetrics.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void sortStatisticsAreReportedTest() {
+        CollectionMetrics.setEnabled(true);
+        List<SortStatistics> reported = new ArrayList<>();
+        CollectionMetricsListener listener = new CollectionMetricsListener() {
+            @Override
+            public void onSort(SortStatistics statistics) {
+                reported.add(statistics);
+            }
+        };
+        CollectionMetrics.addListener(listener);
+        try {
+            CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+            Random random = new Random(42);
+            for (int i = 0; i < 1000; i++) {
+                list.add(random.nextInt());
+            }
+            SortUtils.quickSort(list, Comparator.naturalOrder());
+
+            assertEquals(1, reported.size());
+            SortStatistics statistics = reported.get(0);
+            assertEquals(1000, statistics.size());
+            assertTrue(statistics.comparisons() >= 999);
+            assertTrue(statistics.swaps() > 0);
+            assertTrue(statistics.maxRecursionDepth() > 0);
+            assertTrue(statistics.elapsedNanos() > 0);
+            assertEquals(1, CollectionMetrics.getSortCount());
+            assertEquals(statistics.comparisons(), CollectionMetrics.getComparisons());
+            for (int i = 1; i < list.size(); i++) {
+                assertTrue(list.get(i - 1) <= list.get(i));
+            }
+        } finally {
+            CollectionMetrics.removeListener(listener);
+        }
+    }
+
+    @Test
+    public void mxBeanExposesCountersTest() throws Exception {
+        CollectionMetrics.registerMXBean();
+        CollectionMetrics.registerMXBean();
+        CollectionMetrics.setEnabled(true);
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>(1);
+        list.add(1);
+        list.add(2);
+        ObjectName name = new ObjectName(CollectionMetrics.OBJECT_NAME);
+        assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "ResizeCount"));
+        assertEquals(true, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Enabled"));
+    }
+}
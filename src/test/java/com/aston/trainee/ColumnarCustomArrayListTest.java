@@ -0,0 +1,149 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarCustomArrayListTest {
+
+    private final ColumnarCustomArrayList<Trip> customArrayList = new ColumnarCustomArrayList<>(Trip.class, 2);
+
+    @Test
+    public void randomInsertsAndRemovesMatchArrayListTest() {
+        List<Trip> expected = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 3000; i++) {
+            int operation = random.nextInt(4);
+            Trip trip = randomTrip(random);
+            if (expected.isEmpty() || operation == 0) {
+                customArrayList.add(trip);
+                expected.add(trip);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                customArrayList.add(index, trip);
+                expected.add(index, trip);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                customArrayList.set(index, trip);
+                expected.set(index, trip);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), customArrayList.remove(index));
+            }
+        }
+        assertEquals(expected.size(), customArrayList.size());
+        assertArrayEquals(expected.toArray(), customArrayList.toArray());
+        assertEquals(expected.stream().mapToInt(Trip::year).sum(), customArrayList.intColumn("year").sum());
+        assertEquals(expected.stream().mapToLong(Trip::mileage).sum(), customArrayList.longColumn("mileage").sum());
+        assertEquals(expected.stream().map(Trip::model).toList(), customArrayList.column("model").toList());
+    }
+
+    @Test
+    public void sortByColumnPermutesAllColumnsTest() {
+        Random random = new Random(17);
+        List<Trip> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Trip trip = randomTrip(random);
+            customArrayList.add(trip);
+            expected.add(trip);
+        }
+        SortUtils.sortByColumn(customArrayList, "year");
+        expected.sort(Comparator.comparingInt(Trip::year));
+        assertArrayEquals(expected.toArray(), customArrayList.toArray());
+
+        SortUtils.sortByColumn(customArrayList, "price");
+        expected.sort(Comparator.comparingDouble(Trip::price));
+        assertArrayEquals(expected.toArray(), customArrayList.toArray());
+
+        SortUtils.sortByColumn(customArrayList, "model");
+        expected.sort(Comparator.comparing(Trip::model, Comparator.nullsFirst(Comparator.naturalOrder())));
+        assertArrayEquals(expected.toArray(), customArrayList.toArray());
+
+        customArrayList.sort(Comparator.comparingLong(Trip::mileage));
+        expected.sort(Comparator.comparingLong(Trip::mileage));
+        assertArrayEquals(expected.toArray(), customArrayList.toArray());
+    }
+
+    @Test
+    public void carRecordSortTest() {
+        ColumnarCustomArrayList<Car> cars = new ColumnarCustomArrayList<>(Car.class);
+        cars.add(new Car("BMW"));
+        cars.add(new Car("Audi"));
+        cars.add(new Car("Lada"));
+        cars.sort();
+        assertArrayEquals(new Car[]{new Car("Lada"), new Car("BMW"), new Car("Audi")}, cars.toArray());
+        SortUtils.sortByColumn(cars, "model");
+        assertArrayEquals(new Car[]{new Car("Audi"), new Car("BMW"), new Car("Lada")}, cars.toArray());
+        assertInstanceOf(String[].class, cars.columnData("model"));
+    }
+
+    @Test
+    public void smallPrimitiveComponentsUsePrimitiveColumnsTest() {
+        ColumnarCustomArrayList<Sample> samples = new ColumnarCustomArrayList<>(Sample.class);
+        Random random = new Random(11);
+        List<Sample> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Sample sample = new Sample(random.nextFloat() * 100 - 50, (short) random.nextInt(), (byte) random.nextInt(),
+                    (char) random.nextInt(Character.MAX_VALUE + 1), random.nextBoolean());
+            samples.add(sample);
+            expected.add(sample);
+        }
+        assertInstanceOf(float[].class, samples.columnData("weight"));
+        assertInstanceOf(int[].class, samples.columnData("code"));
+        assertInstanceOf(int[].class, samples.columnData("level"));
+        assertInstanceOf(int[].class, samples.columnData("grade"));
+        assertInstanceOf(boolean[].class, samples.columnData("flag"));
+        assertArrayEquals(expected.toArray(), samples.toArray());
+        assertEquals(expected.stream().mapToDouble(Sample::weight).sum(), samples.doubleColumn("weight").sum(), 1e-3);
+        assertEquals(expected.stream().mapToInt(Sample::code).sum(), samples.intColumn("code").sum());
+
+        SortUtils.sortByColumn(samples, "weight");
+        expected.sort((a, b) -> Float.compare(a.weight(), b.weight()));
+        assertArrayEquals(expected.toArray(), samples.toArray());
+
+        SortUtils.sortByColumn(samples, "code");
+        expected.sort(Comparator.comparingInt(Sample::code));
+        assertArrayEquals(expected.toArray(), samples.toArray());
+
+        SortUtils.sortByColumn(samples, "level");
+        expected.sort(Comparator.comparingInt(Sample::level));
+        assertArrayEquals(expected.toArray(), samples.toArray());
+
+        SortUtils.sortByColumn(samples, "grade");
+        expected.sort(Comparator.comparingInt(Sample::grade));
+        assertArrayEquals(expected.toArray(), samples.toArray());
+
+        SortUtils.sortByColumn(samples, "flag");
+        expected.sort((a, b) -> Boolean.compare(a.flag(), b.flag()));
+        assertArrayEquals(expected.toArray(), samples.toArray());
+    }
+
+    @Test
+    public void incorrectArgumentsThrowExceptionsTest() {
+        customArrayList.add(new Trip("BMW", 2001, 10, 1.5, true));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.add(1, customArrayList.get(0)));
+        assertThrows(IllegalArgumentException.class, () -> customArrayList.add(null));
+        assertThrows(IllegalArgumentException.class, () -> customArrayList.intColumn("price"));
+        assertThrows(IllegalArgumentException.class, () -> SortUtils.sortByColumn(customArrayList, "color"));
+        customArrayList.clear();
+        assertEquals(0, customArrayList.size());
+    }
+
+    private static Trip randomTrip(Random random) {
+        String model = random.nextInt(10) == 0 ? null : "model-" + random.nextInt(30);
+        return new Trip(model, 1990 + random.nextInt(30), random.nextLong(1_000_000), random.nextInt(100) / 4.0,
+                random.nextBoolean());
+    }
+
+    private record Trip(String model, int year, long mileage, double price, boolean used) {
+    }
+
+    private record Sample(float weight, short code, byte level, char grade, boolean flag) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentCustomArrayListTest {
+
+    private final ConcurrentCustomArrayList<Integer> customArrayList = new ConcurrentCustomArrayList<>();
+
+    @Test
+    public void addGetRemoveTest() {
+        for (int i = 0; i < 100; i++) {
+            customArrayList.add(i);
+        }
+        customArrayList.add(54, -1);
+        assertEquals(-1, customArrayList.get(54));
+        assertEquals(-1, customArrayList.remove(54));
+        assertEquals(54, customArrayList.get(54));
+        assertEquals(100, customArrayList.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.set(-1, 1));
+    }
+
+    @Test
+    public void concurrentWritersAndReadersTest() throws InterruptedException {
+        int writers = 4;
+        int perWriter = 20000;
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    customArrayList.add(i);
+                }
+            }));
+        }
+        for (int r = 0; r < 4; r++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        int size = customArrayList.size();
+                        if (size > 0) {
+                            assertNotNull(customArrayList.get(size - 1));
+                        }
+                        Object[] snapshot = customArrayList.toArray();
+                        for (Object element : snapshot) {
+                            assertNotNull(element);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.set(e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (int w = 0; w < writers; w++) {
+            threads.get(w).join();
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertEquals(writers * perWriter, customArrayList.size());
+    }
+
+    @Test
+    public void sortTest() {
+        for (int i = 20; i >= 0; i--) {
+            customArrayList.add(i);
+        }
+        customArrayList.sort();
+        assertEquals(0, customArrayList.get(0));
+        customArrayList.sort((o1, o2) -> o2 - o1);
+        assertEquals(20, customArrayList.get(0));
+    }
+}
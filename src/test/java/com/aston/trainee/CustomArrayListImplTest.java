@@ -3,6 +3,20 @@ package com.aston.trainee;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class CustomArrayListImplTest {
@@ -121,9 +135,299 @@ class CustomArrayListImplTest {
         assertEquals(200, customArrayList.get(2));
     }
 
+    @Test
+    public void addElementWithIndexWhenArrayIsFullTest() {
+        CustomArrayListImpl<Integer> list = new CustomArrayListImpl<>(2);
+        list.add(1);
+        list.add(2);
+        list.add(0, 3);
+        assertArrayEquals(new Integer[]{3, 1, 2}, list.toArray());
+    }
+
+    @Test
+    public void addAllArrayAndListTest() {
+        initList(3);
+        customArrayList.addAll(new Integer[]{3, 4});
+        CustomArrayList<Integer> other = new CustomArrayListImpl<>();
+        other.add(5);
+        other.add(6);
+        customArrayList.addAll(other);
+        assertArrayEquals(new Integer[]{0, 1, 2, 3, 4, 5, 6}, customArrayList.toArray());
+    }
+
+    @Test
+    public void addAllWithIndexTest() {
+        initList(4);
+        customArrayList.addAll(1, new Integer[]{10, 11});
+        CustomArrayList<Integer> other = new CustomArrayListImpl<>();
+        for (int i = 20; i < 40; i++) {
+            other.add(i);
+        }
+        customArrayList.addAll(5, other);
+        customArrayList.addAll(0, customArrayList);
+        assertEquals(52, customArrayList.size());
+        assertEquals(10, customArrayList.get(1));
+        assertEquals(20, customArrayList.get(5));
+        assertEquals(3, customArrayList.get(25));
+        assertEquals(0, customArrayList.get(26));
+        assertEquals(3, customArrayList.get(51));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.addAll(52, new Integer[]{1}));
+    }
+
+    @Test
+    public void removeRangeTest() {
+        initList(10);
+        customArrayList.removeRange(2, 5);
+        assertArrayEquals(new Integer[]{0, 1, 5, 6, 7, 8, 9}, customArrayList.toArray());
+        customArrayList.removeRange(3, 3);
+        assertEquals(7, customArrayList.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.removeRange(5, 8));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.removeRange(4, 3));
+    }
+
+    @Test
+    public void ensureCapacityTest() {
+        CustomArrayListImpl<Integer> list = new CustomArrayListImpl<>(0);
+        list.ensureCapacity(1000);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        assertEquals(1000, list.size());
+        assertEquals(999, list.get(999));
+    }
+
+    @Test
+    public void presizedListDoesNotReallocateTest() {
+        CustomArrayListImpl<Integer> list = new CustomArrayListImpl<>(100);
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        assertEquals(100, list.capacity());
+    }
+
+    @Test
+    public void growthPolicyTest() {
+        CustomArrayListImpl<Integer> fixed = new CustomArrayListImpl<>(0, GrowthPolicy.fixedIncrement(8), false);
+        fixed.add(1);
+        assertEquals(8, fixed.capacity());
+        CustomArrayListImpl<Integer> doubling = new CustomArrayListImpl<>(4, GrowthPolicy.geometric(2), false);
+        for (int i = 0; i < 5; i++) {
+            doubling.add(i);
+        }
+        assertEquals(8, doubling.capacity());
+        CustomArrayListImpl<Integer> capped = new CustomArrayListImpl<>(2, GrowthPolicy.geometric(4).withCap(5), false);
+        for (int i = 0; i < 5; i++) {
+            capped.add(i);
+        }
+        assertEquals(5, capped.capacity());
+        assertThrows(IllegalStateException.class, () -> capped.add(5));
+    }
+
+    @Test
+    public void trimToSizeTest() {
+        initList(100);
+        customArrayList.remove(0);
+        customArrayList.trimToSize();
+        assertEquals(99, customArrayList.capacity());
+        assertEquals(99, customArrayList.get(98));
+    }
+
+    @Test
+    public void clearWithKeepCapacityTest() {
+        CustomArrayListImpl<Integer> list = new CustomArrayListImpl<>(10, GrowthPolicy.DEFAULT, true);
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        int capacity = list.capacity();
+        list.clear();
+        assertEquals(0, list.size());
+        assertEquals(capacity, list.capacity());
+        list.add(1);
+        assertEquals(1, list.get(0));
+    }
+
+    @Test
+    public void iteratorAndForEachTest() {
+        initList(100);
+        int expected = 0;
+        for (Integer element : customArrayList) {
+            assertEquals(expected++, element);
+        }
+        assertEquals(100, expected);
+        int[] sum = new int[1];
+        customArrayList.forEach(element -> sum[0] += element);
+        assertEquals(4950, sum[0]);
+        Iterator<Integer> iterator = new CustomArrayListImpl<Integer>().iterator();
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void spliteratorSplitsEvenlyTest() {
+        initList(100);
+        Spliterator<Integer> spliterator = customArrayList.spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(50, prefix.estimateSize());
+        assertEquals(50, spliterator.estimateSize());
+    }
+
+    @Test
+    public void streamAndParallelStreamTest() {
+        initList(100000);
+        long expected = 100000L * 99999 / 2;
+        assertEquals(expected, customArrayList.stream().mapToLong(Integer::longValue).sum());
+        assertEquals(expected, customArrayList.parallelStream().mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    public void snapshotRoundTripThroughStreamChannelsTest() throws IOException {
+        initList(1000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long written = customArrayList.writeTo(Channels.newChannel(bytes), RecordCodec.INT);
+        assertEquals(bytes.size(), written);
+        assertEquals(ChannelSnapshot.HEADER_SIZE + 1000 * Integer.BYTES, written);
+
+        CustomArrayList<Integer> restored = new CustomArrayListImpl<>();
+        restored.add(-1);
+        restored.readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), RecordCodec.INT);
+        assertEquals(1001, restored.size());
+        assertEquals(-1, restored.get(0));
+        assertEquals(999, restored.get(1000));
+
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() - 1);
+        assertThrows(EOFException.class, () -> new CustomArrayListImpl<Integer>()
+                .readFrom(Channels.newChannel(new ByteArrayInputStream(truncated)), RecordCodec.INT));
+        assertThrows(IOException.class, () -> new CustomArrayListImpl<Long>()
+                .readFrom(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())), RecordCodec.LONG));
+        assertThrows(IllegalArgumentException.class, () -> customArrayList.writeTo(null, RecordCodec.INT));
+    }
+
+    @Test
+    public void indexOfContainsAndRemoveElementTest() {
+        initList(10);
+        customArrayList.add(3);
+        customArrayList.add(null);
+        assertEquals(3, customArrayList.indexOf(3));
+        assertEquals(10, customArrayList.lastIndexOf(3));
+        assertEquals(11, customArrayList.indexOf(null));
+        assertFalse(customArrayList.contains(42));
+        assertTrue(customArrayList.removeElement(3));
+        assertEquals(9, customArrayList.lastIndexOf(3));
+        assertFalse(customArrayList.removeElement(42));
+        assertEquals(11, customArrayList.size());
+    }
+
+    @Test
+    public void hashIndexMatchesLinearScanTest() {
+        customArrayList.enableIndex();
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(23);
+        for (int i = 0; i < 4000; i++) {
+            Integer element = random.nextInt(20) == 0 ? null : random.nextInt(60);
+            int operation = random.nextInt(9);
+            if (expected.isEmpty() || operation == 0) {
+                customArrayList.add(element);
+                expected.add(element);
+            } else if (operation == 1) {
+                int index = random.nextInt(expected.size());
+                customArrayList.add(index, element);
+                expected.add(index, element);
+            } else if (operation == 2) {
+                int index = random.nextInt(expected.size());
+                customArrayList.set(index, element);
+                expected.set(index, element);
+            } else if (operation == 3) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), customArrayList.remove(index));
+            } else if (operation == 4) {
+                assertEquals(expected.remove(element), customArrayList.removeElement(element));
+            } else if (operation == 5) {
+                int index = random.nextInt(expected.size());
+                Integer[] elements = {element, random.nextInt(60)};
+                customArrayList.addAll(index, elements);
+                expected.addAll(index, Arrays.asList(elements));
+            } else if (operation == 6) {
+                int from = random.nextInt(expected.size());
+                int to = Math.min(expected.size(), from + random.nextInt(4));
+                customArrayList.removeRange(from, to);
+                expected.subList(from, to).clear();
+            } else if (operation == 7 && random.nextInt(20) == 0) {
+                Comparator<Integer> comparator = Comparator.nullsFirst(Comparator.reverseOrder());
+                SortUtils.quickSort(customArrayList, comparator);
+                expected.sort(comparator);
+            } else if (operation == 8 && random.nextInt(20) == 0) {
+                customArrayList.sort(Comparator.nullsLast(Comparator.naturalOrder()));
+                expected.sort(Comparator.nullsLast(Comparator.naturalOrder()));
+            }
+            Integer probe = random.nextInt(10) == 0 ? null : random.nextInt(60);
+            assertEquals(expected.indexOf(probe), customArrayList.indexOf(probe));
+            assertEquals(expected.lastIndexOf(probe), customArrayList.lastIndexOf(probe));
+            assertEquals(expected.contains(probe), customArrayList.contains(probe));
+        }
+        assertArrayEquals(expected.toArray(), customArrayList.toArray());
+        customArrayList.disableIndex();
+        assertFalse(customArrayList.isIndexEnabled());
+        assertEquals(expected.indexOf(7), customArrayList.indexOf(7));
+    }
+
+    @Test
+    public void snapshotIsNotAffectedByLaterChangesTest() {
+        initList(20);
+        CustomArrayList<Integer> snapshot = customArrayList.snapshot();
+        Object[] before = snapshot.toArray();
+        customArrayList.add(100);
+        assertEquals(20, snapshot.size());
+        customArrayList.set(0, 42);
+        customArrayList.remove(5);
+        CustomArrayList<Integer> second = customArrayList.snapshot();
+        SortUtils.quickSort(customArrayList, Comparator.reverseOrder());
+        customArrayList.clear();
+        assertArrayEquals(before, snapshot.toArray());
+        assertEquals(20, second.size());
+        assertEquals(42, second.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> second.remove(0));
+    }
+
+    @Test
+    public void pooledListReturnsArraysOnGrowthClearAndReleaseTest() {
+        ArrayPool pool = new ArrayPool();
+        CustomArrayListImpl<Integer> pooled = new CustomArrayListImpl<>(10, GrowthPolicy.DEFAULT, false, pool);
+        for (int i = 0; i < 100; i++) {
+            pooled.add(i);
+        }
+        assertEquals(3, pool.pooledArrays());
+        assertEquals(128, pooled.capacity());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, pooled.get(i));
+        }
+        pooled.clear();
+        assertEquals(0, pooled.size());
+        assertEquals(3, pool.pooledArrays());
+        pooled.add(1);
+        CustomArrayList<Integer> snapshot = pooled.snapshot();
+        pooled.release();
+        assertEquals(0, pooled.size());
+        assertEquals(1, snapshot.get(0));
+        pooled.add(2);
+        assertArrayEquals(new Object[]{2}, pooled.toArray());
+    }
+
+    @Test
+    public void pooledListAddAllItselfTest() {
+        CustomArrayListImpl<Integer> pooled = new CustomArrayListImpl<>(10, GrowthPolicy.DEFAULT, false, new ArrayPool());
+        Integer[] expected = new Integer[32];
+        for (int i = 0; i < 16; i++) {
+            pooled.add(i);
+            expected[i] = i;
+            expected[i + 16] = i;
+        }
+        pooled.addAll(pooled);
+        assertArrayEquals(expected, pooled.toArray());
+    }
+
     private void initList(int size) {
         for (int i = 0; i < size; i++) {
             customArrayList.add(i);
         }
     }
-}
\ No newline at end of file
+}
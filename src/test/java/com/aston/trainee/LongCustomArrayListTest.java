@@ -0,0 +1,94 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongCustomArrayListTest {
+
+    private final LongCustomArrayList customArrayList = new LongCustomArrayList();
+
+    @BeforeEach
+    public void clear() {
+        customArrayList.clear();
+    }
+
+    @Test
+    public void add100000ElementsTest() {
+        initList(100000);
+        assertEquals(100000, customArrayList.size());
+        assertEquals(99999, customArrayList.get(99999));
+    }
+
+    @Test
+    public void addElementWithIndexTest() {
+        initList(100);
+        customArrayList.add(54, 2);
+        assertEquals(2, customArrayList.get(54));
+        assertEquals(54, customArrayList.get(55));
+        assertEquals(99, customArrayList.get(100));
+        assertEquals(101, customArrayList.size());
+    }
+
+    @Test
+    public void addElementWhenArrayIsFullTest() {
+        LongCustomArrayList list = new LongCustomArrayList(2);
+        list.add(1);
+        list.add(2);
+        list.add(0, 3);
+        assertArrayEquals(new long[]{3, 1, 2}, list.toArray());
+    }
+
+    @Test
+    public void removeElementWithIndexTest() {
+        initList(100);
+        assertEquals(54, customArrayList.remove(54));
+        assertEquals(55, customArrayList.get(54));
+        assertEquals(99, customArrayList.size());
+    }
+
+    @Test
+    public void methodsWithIncorrectIndexThrowIndexOutOfBoundException() {
+        initList(100);
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.set(-1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.remove(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.add(100, 1));
+    }
+
+    @Test
+    public void testSortMethod() {
+        for (int i = 20; i >= 0; i--) {
+            customArrayList.add(i);
+        }
+        customArrayList.sort();
+        for (int i = 0; i <= 20; i++) {
+            assertEquals(i, customArrayList.get(i));
+        }
+    }
+
+    @Test
+    public void sortValuesOutsideIntRangeTest() {
+        customArrayList.add(Long.MAX_VALUE);
+        customArrayList.add(0);
+        customArrayList.add(Long.MIN_VALUE);
+        customArrayList.add(1L << 40);
+        customArrayList.add(-(1L << 40));
+        customArrayList.sort();
+        assertArrayEquals(new long[]{Long.MIN_VALUE, -(1L << 40), 0, 1L << 40, Long.MAX_VALUE}, customArrayList.toArray());
+    }
+
+    @Test
+    public void testSetMethod() {
+        initList(15);
+        customArrayList.set(2, 200);
+        assertEquals(200, customArrayList.get(2));
+    }
+
+    private void initList(int size) {
+        for (int i = 0; i < size; i++) {
+            customArrayList.add(i);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCustomArrayListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void addGetAndGrowAcrossChunksTest() throws IOException {
+        try (MappedCustomArrayList<Long> list = MappedCustomArrayList.open(directory.resolve("list.bin"), RecordCodec.LONG, 4)) {
+            for (long i = 0; i < 1000; i++) {
+                list.add(i);
+            }
+            list.add(500, -1L);
+            assertEquals(1001, list.size());
+            assertEquals(-1L, list.get(500));
+            assertEquals(999L, list.get(1000));
+            assertEquals(-1L, list.remove(500));
+            assertEquals(500L, list.get(500));
+            assertThrows(IndexOutOfBoundsException.class, () -> list.get(1000));
+        }
+    }
+
+    @Test
+    public void reopenKeepsElementsTest() throws IOException {
+        Path path = directory.resolve("list.bin");
+        try (MappedCustomArrayList<Integer> list = MappedCustomArrayList.open(path, RecordCodec.INT, 3)) {
+            for (int i = 100; i > 0; i--) {
+                list.add(i);
+            }
+            SortUtils.quickSort(list);
+        }
+        try (MappedCustomArrayList<Integer> list = MappedCustomArrayList.open(path, RecordCodec.INT)) {
+            assertEquals(100, list.size());
+            assertEquals(1, list.get(0));
+            assertEquals(100, list.get(99));
+            list.sort(Comparator.reverseOrder());
+            assertEquals(100, list.get(0));
+        }
+    }
+
+    @Test
+    public void openWithIncompatibleCodecThrowsIOExceptionTest() throws IOException {
+        Path path = directory.resolve("list.bin");
+        try (MappedCustomArrayList<Integer> list = MappedCustomArrayList.open(path, RecordCodec.INT)) {
+            list.add(1);
+        }
+        assertThrows(IOException.class, () -> MappedCustomArrayList.open(path, RecordCodec.LONG));
+    }
+
+    @Test
+    public void openWithCorruptHeaderThrowsIOExceptionTest() throws IOException {
+        Path path = directory.resolve("list.bin");
+        try (MappedCustomArrayList<Integer> list = MappedCustomArrayList.open(path, RecordCodec.INT, 4)) {
+            list.add(1);
+        }
+        overwriteHeader(path, 8, ByteBuffer.allocate(4).order(ByteOrder.nativeOrder()).putInt(0, 31));
+        assertThrows(IOException.class, () -> MappedCustomArrayList.open(path, RecordCodec.INT));
+        overwriteHeader(path, 8, ByteBuffer.allocate(4).order(ByteOrder.nativeOrder()).putInt(0, 4));
+        overwriteHeader(path, 16, ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putLong(0, 1L << 20));
+        assertThrows(IOException.class, () -> MappedCustomArrayList.open(path, RecordCodec.INT));
+        overwriteHeader(path, 16, ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putLong(0, -1));
+        assertThrows(IOException.class, () -> MappedCustomArrayList.open(path, RecordCodec.INT));
+        overwriteHeader(path, 16, ByteBuffer.allocate(8).order(ByteOrder.nativeOrder()).putLong(0, 1));
+        try (MappedCustomArrayList<Integer> list = MappedCustomArrayList.open(path, RecordCodec.INT)) {
+            assertEquals(1, list.get(0));
+        }
+    }
+
+    @Test
+    public void snapshotRoundTripThroughChannelsTest() throws IOException {
+        CustomArrayListImpl<Long> source = new CustomArrayListImpl<>();
+        for (long i = 0; i < 10_000; i++) {
+            source.add(i * 3);
+        }
+        Path heapSnapshot = directory.resolve("heap.snapshot");
+        try (FileChannel channel = FileChannel.open(heapSnapshot, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            assertEquals(ChannelSnapshot.HEADER_SIZE + 10_000L * Long.BYTES, source.writeTo(channel, RecordCodec.LONG));
+        }
+
+        Path offHeapSnapshot = directory.resolve("off-heap.snapshot");
+        try (OffHeapCustomArrayList<Long> offHeap = new OffHeapCustomArrayList<>(RecordCodec.LONG, 7)) {
+            offHeap.add(-1L);
+            try (FileChannel channel = FileChannel.open(heapSnapshot, StandardOpenOption.READ)) {
+                offHeap.readFrom(channel, RecordCodec.LONG);
+            }
+            assertEquals(10_001, offHeap.size());
+            assertEquals(-1L, offHeap.get(0));
+            assertEquals(29_997L, offHeap.get(10_000));
+            offHeap.remove(0);
+            try (FileChannel channel = FileChannel.open(offHeapSnapshot, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                offHeap.writeTo(channel, RecordCodec.LONG);
+            }
+        }
+
+        Path transferred = directory.resolve("transferred.snapshot");
+        try (MappedCustomArrayList<Long> mapped = MappedCustomArrayList.open(directory.resolve("list.bin"), RecordCodec.LONG, 6)) {
+            try (FileChannel channel = FileChannel.open(offHeapSnapshot, StandardOpenOption.READ)) {
+                mapped.readFrom(channel, RecordCodec.LONG);
+            }
+            assertEquals(10_000, mapped.size());
+            assertEquals(15L, mapped.get(5));
+            try (FileChannel channel = FileChannel.open(transferred, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                mapped.writeTo(channel, RecordCodec.LONG);
+            }
+        }
+
+        CustomArrayListImpl<Long> restored = new CustomArrayListImpl<>();
+        try (FileChannel channel = FileChannel.open(transferred, StandardOpenOption.READ)) {
+            restored.readFrom(channel, RecordCodec.LONG);
+        }
+        assertArrayEquals(source.toArray(), restored.toArray());
+    }
+
+    private void overwriteHeader(Path path, long offset, ByteBuffer value) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(value, offset);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCustomArrayListTest {
+
+    private static final RecordCodec<Point> POINT_CODEC = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return 2 * Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Point element, ByteBuffer buffer, int offset) {
+            buffer.putInt(offset, element.x());
+            buffer.putInt(offset + Integer.BYTES, element.y());
+        }
+
+        @Override
+        public Point decode(ByteBuffer buffer, int offset) {
+            return new Point(buffer.getInt(offset), buffer.getInt(offset + Integer.BYTES));
+        }
+    };
+
+    private final OffHeapCustomArrayList<Long> customArrayList = new OffHeapCustomArrayList<>(RecordCodec.LONG, 4);
+
+    @AfterEach
+    public void close() {
+        customArrayList.close();
+    }
+
+    @Test
+    public void addAndGetAcrossChunksTest() {
+        initList(1000);
+        assertEquals(1000, customArrayList.size());
+        assertEquals(0L, customArrayList.get(0));
+        assertEquals(999L, customArrayList.get(999));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.get(1000));
+    }
+
+    @Test
+    public void addWithIndexAndRemoveTest() {
+        initList(40);
+        customArrayList.add(15, -1L);
+        assertEquals(-1L, customArrayList.get(15));
+        assertEquals(39L, customArrayList.get(40));
+        assertEquals(-1L, customArrayList.remove(15));
+        assertEquals(15L, customArrayList.get(15));
+        assertEquals(40, customArrayList.size());
+    }
+
+    @Test
+    public void sortAndSetTest() {
+        for (long i = 100; i > 0; i--) {
+            customArrayList.add(i);
+        }
+        customArrayList.sort();
+        assertEquals(1L, customArrayList.get(0));
+        assertEquals(100L, customArrayList.get(99));
+        customArrayList.set(0, 500L);
+        customArrayList.sort(Comparator.reverseOrder());
+        assertEquals(500L, customArrayList.get(0));
+    }
+
+    @Test
+    public void recordCodecTest() {
+        try (OffHeapCustomArrayList<Point> points = new OffHeapCustomArrayList<>(POINT_CODEC)) {
+            points.add(new Point(3, 1));
+            points.add(new Point(1, 2));
+            points.add(new Point(2, 3));
+            points.sort(Comparator.comparingInt(Point::x));
+            assertArrayEquals(new Point[]{new Point(1, 2), new Point(2, 3), new Point(3, 1)}, points.toArray());
+        }
+    }
+
+    @Test
+    public void closedListThrowsIllegalStateExceptionTest() {
+        initList(10);
+        customArrayList.close();
+        assertThrows(IllegalStateException.class, () -> customArrayList.get(0));
+        assertThrows(IllegalStateException.class, () -> customArrayList.add(1L));
+    }
+
+    @Test
+    public void closeFreesDirectMemoryTest() {
+        BufferPoolMXBean direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .findFirst()
+                .orElseThrow();
+        OffHeapCustomArrayList<Long> list = new OffHeapCustomArrayList<>(RecordCodec.LONG, 20);
+        long chunkBytes = (long) Long.BYTES << 20;
+        long before = direct.getMemoryUsed();
+        list.ensureCapacity(3 << 20);
+        assertTrue(direct.getMemoryUsed() >= before + 3 * chunkBytes);
+        list.add(1L);
+        list.clear();
+        assertTrue(direct.getMemoryUsed() < before + 2 * chunkBytes);
+        list.close();
+        assertTrue(direct.getMemoryUsed() < before + chunkBytes);
+        list.close();
+    }
+
+    @Test
+    public void defaultStreamTest() {
+        initList(1000);
+        assertEquals(499500L, customArrayList.parallelStream().mapToLong(Long::longValue).sum());
+        long expected = 0;
+        for (Long element : customArrayList) {
+            assertEquals(expected++, element);
+        }
+    }
+
+    private void initList(int size) {
+        for (long i = 0; i < size; i++) {
+            customArrayList.add(i);
+        }
+    }
+
+    private record Point(int x, int y) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentCustomArrayListTest {
+
+    private final PersistentCustomArrayList<Integer> customArrayList = new PersistentCustomArrayList<>();
+
+    @Test
+    public void randomOperationsMatchArrayListAndKeepSnapshotsTest() {
+        List<Integer> expected = new ArrayList<>();
+        List<CustomArrayList<Integer>> snapshots = new ArrayList<>();
+        List<Object[]> snapshotContents = new ArrayList<>();
+        Random random = new Random(31);
+        for (int i = 0; i < 60000; i++) {
+            int operation = random.nextInt(100);
+            if (expected.isEmpty() || operation < 60) {
+                customArrayList.add(i);
+                expected.add(i);
+            } else if (operation < 80) {
+                int index = random.nextInt(expected.size());
+                customArrayList.set(index, -i);
+                expected.set(index, -i);
+            } else if (operation < 97) {
+                assertEquals(expected.remove(expected.size() - 1), customArrayList.remove(customArrayList.size() - 1));
+            } else if (operation < 98) {
+                int index = random.nextInt(expected.size());
+                customArrayList.add(index, i);
+                expected.add(index, i);
+            } else if (operation < 99) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), customArrayList.remove(index));
+            } else if (random.nextInt(10) == 0) {
+                snapshots.add(customArrayList.snapshot());
+                snapshotContents.add(expected.toArray());
+            }
+        }
+        assertEquals(expected.size(), customArrayList.size());
+        assertArrayEquals(expected.toArray(), customArrayList.toArray());
+        for (int i = 0; i < expected.size(); i += 7) {
+            assertEquals(expected.get(i), customArrayList.get(i));
+        }
+        assertFalse(snapshots.isEmpty());
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertArrayEquals(snapshotContents.get(i), snapshots.get(i).toArray());
+        }
+    }
+
+    @Test
+    public void removeLastShrinksTreeTest() {
+        for (int i = 0; i < 40000; i++) {
+            customArrayList.add(i);
+        }
+        CustomArrayList<Integer> snapshot = customArrayList.snapshot();
+        while (customArrayList.size() > 0) {
+            int last = customArrayList.size() - 1;
+            assertEquals(last, customArrayList.remove(last));
+        }
+        customArrayList.add(7);
+        assertEquals(7, customArrayList.get(0));
+        assertEquals(40000, snapshot.size());
+        assertEquals(39999, snapshot.get(39999));
+        assertEquals(1056, snapshot.get(1056));
+    }
+
+    @Test
+    public void snapshotIsReadOnlyTest() {
+        customArrayList.add(2);
+        customArrayList.add(1);
+        CustomArrayList<Integer> snapshot = customArrayList.snapshot();
+        customArrayList.sort(Comparator.naturalOrder());
+        assertArrayEquals(new Object[]{1, 2}, customArrayList.toArray());
+        assertArrayEquals(new Object[]{2, 1}, snapshot.toArray());
+        assertSame(snapshot, snapshot.snapshot());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(3));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(2));
+    }
+}
@@ -0,0 +1,69 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedCustomArrayListTest {
+
+    private final ShardedCustomArrayList<Integer> customArrayList = new ShardedCustomArrayList<>(8);
+
+    @Test
+    public void concurrentAddFromManyThreadsTest() throws InterruptedException {
+        int writers = 16;
+        int perWriter = 10000;
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int base = w * perWriter;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    customArrayList.add(base + i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(writers * perWriter, customArrayList.size());
+
+        CustomArrayList<Integer> snapshot = customArrayList.sortedSnapshot(Comparator.naturalOrder());
+        for (int i = 0; i < writers * perWriter; i++) {
+            assertEquals(i, snapshot.get(i));
+        }
+    }
+
+    @Test
+    public void elementsOfOneThreadKeepOrderTest() {
+        for (int i = 0; i < 100; i++) {
+            customArrayList.add(i);
+        }
+        assertEquals(0, customArrayList.get(0));
+        customArrayList.add(200);
+        assertEquals(200, customArrayList.get(100));
+        assertEquals(5, customArrayList.remove(5));
+        customArrayList.set(0, -1);
+        assertEquals(-1, customArrayList.get(0));
+        assertEquals(100, customArrayList.size());
+    }
+
+    @Test
+    public void sortAndClearTest() {
+        for (int i = 20; i >= 0; i--) {
+            customArrayList.add(i);
+        }
+        customArrayList.sort(Comparator.naturalOrder());
+        assertEquals(0, customArrayList.get(0));
+        assertEquals(20, customArrayList.get(20));
+        customArrayList.add(1);
+        customArrayList.clear();
+        assertEquals(0, customArrayList.size());
+        customArrayList.add(7);
+        assertEquals(1, customArrayList.size());
+        assertEquals(7, customArrayList.get(0));
+    }
+}
@@ -4,12 +4,47 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class SortUtilsTest {
 
+    private static final ElementSerializer<Integer> INTEGER_SERIALIZER = new ElementSerializer<>() {
+        @Override
+        public void write(Integer element, DataOutput output) throws IOException {
+            output.writeInt(element);
+        }
+
+        @Override
+        public Integer read(DataInput input) throws IOException {
+            return input.readInt();
+        }
+    };
+
+    private static final ElementSerializer<String> STRING_SERIALIZER = new ElementSerializer<>() {
+        @Override
+        public void write(String element, DataOutput output) throws IOException {
+            output.writeUTF(element);
+        }
+
+        @Override
+        public String read(DataInput input) throws IOException {
+            return input.readUTF();
+        }
+    };
+
     private final CustomArrayList<String> customArrayList = new CustomArrayListImpl<>();
 
     @BeforeEach
@@ -103,4 +138,416 @@ class SortUtilsTest {
 
         assertArrayEquals(expectedResult.toArray(), actualList.toArray());
     }
+
+    @Test
+    public void quickSortIntListTest() {
+        IntCustomArrayList list = new IntCustomArrayList();
+        list.add(5);
+        list.add(-3);
+        list.add(8);
+        list.add(0);
+        list.add(-3);
+
+        SortUtils.quickSort(list);
+        assertArrayEquals(new int[]{-3, -3, 0, 5, 8}, list.toArray());
+    }
+
+    @Test
+    public void quickSortLongListTest() {
+        LongCustomArrayList list = new LongCustomArrayList();
+        list.add(Long.MAX_VALUE);
+        list.add(1_700_000_000_000L);
+        list.add(Long.MIN_VALUE);
+
+        SortUtils.quickSort(list);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 1_700_000_000_000L, Long.MAX_VALUE}, list.toArray());
+    }
+
+    @Test
+    public void quickSortDoubleListTest() {
+        DoubleCustomArrayList list = new DoubleCustomArrayList();
+        list.add(Double.NaN);
+        list.add(2.5);
+        list.add(-0.0);
+        list.add(0.0);
+        list.add(-1.5);
+
+        SortUtils.quickSort(list);
+        assertArrayEquals(new double[]{-1.5, -0.0, 0.0, 2.5, Double.NaN}, list.toArray());
+    }
+
+    @Test
+    public void parallelQuickSortWithComparatorTest() {
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        Integer[] expected = fillRandom(list, 200000);
+        Arrays.sort(expected, Comparator.reverseOrder());
+
+        SortUtils.parallelQuickSort(list, Comparator.reverseOrder());
+        assertArrayEquals(expected, list.toArray());
+    }
+
+    @Test
+    public void parallelQuickSortWithComparableInCustomPoolTest() {
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        Integer[] expected = fillRandom(list, 200000);
+        Arrays.sort(expected);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SortUtils.parallelQuickSort(list, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(expected, list.toArray());
+    }
+
+    @Test
+    public void parallelQuickSortWithNullArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> SortUtils.parallelQuickSort(null, Comparator.naturalOrder()));
+        assertThrows(IllegalArgumentException.class, () -> SortUtils.parallelQuickSort(customArrayList, Comparator.naturalOrder(), null));
+    }
+
+    @Test
+    public void externalSortOfListTest() throws IOException {
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        Integer[] expected = fillRandom(list, 10000);
+        Arrays.sort(expected);
+
+        SortUtils.externalSort(list, Comparator.naturalOrder(), INTEGER_SERIALIZER, 1000);
+        assertArrayEquals(expected, list.toArray());
+    }
+
+    @Test
+    public void externalSortKeepsPrimaryFailureWhenCleanupFailsTest() throws IOException {
+        List<Path> blocked = new ArrayList<>();
+        ElementSerializer<Integer> failingSerializer = new ElementSerializer<>() {
+            @Override
+            public void write(Integer element, DataOutput output) throws IOException {
+                output.writeInt(element);
+            }
+
+            @Override
+            public Integer read(DataInput input) throws IOException {
+                Path directory = Path.of(System.getProperty("java.io.tmpdir"));
+                try (DirectoryStream<Path> runs = Files.newDirectoryStream(directory, "external-sort-run-*.bin")) {
+                    for (Path run : runs) {
+                        Files.delete(run);
+                        Files.createDirectories(run.resolve("blocker"));
+                        blocked.add(run);
+                    }
+                }
+                throw new IOException("read failed");
+            }
+        };
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        fillRandom(list, 100);
+        try {
+            IOException failure = assertThrows(IOException.class, () ->
+                    SortUtils.externalSort(list, Comparator.naturalOrder(), failingSerializer, 10));
+            assertEquals("read failed", failure.getMessage());
+            assertFalse(blocked.isEmpty());
+            assertEquals(blocked.size(), failure.getSuppressed().length);
+        } finally {
+            for (Path run : blocked) {
+                Files.deleteIfExists(run.resolve("blocker"));
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    @Test
+    public void externalSortToSinkTest() throws IOException {
+        List<String> result = new ArrayList<>();
+        SortUtils.externalSort(customArrayList.iterator(), Comparator.<String>naturalOrder(), STRING_SERIALIZER, 4, result::add);
+        assertEquals(List.of("Anton", "Arkadii", "Devid", "Evgenii", "Ivan", "Kirill"), result);
+
+        result.clear();
+        SortUtils.externalSort(customArrayList.iterator(), Comparator.<String>reverseOrder(), STRING_SERIALIZER, 100, result::add);
+        assertEquals(List.of("Kirill", "Ivan", "Evgenii", "Devid", "Arkadii", "Anton"), result);
+        assertThrows(IllegalArgumentException.class, () ->
+                SortUtils.externalSort(customArrayList, Comparator.naturalOrder(), STRING_SERIALIZER, 0));
+    }
+
+    @Test
+    public void quickSortOfSortedReversedAndEqualLargeListsTest() {
+        int size = 200000;
+        CustomArrayList<Integer> sorted = new CustomArrayListImpl<>();
+        CustomArrayList<Integer> reversed = new CustomArrayListImpl<>();
+        CustomArrayList<Integer> equal = new CustomArrayListImpl<>();
+        Integer[] expected = new Integer[size];
+        Integer[] expectedEqual = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted.add(i);
+            reversed.add(size - i - 1);
+            equal.add(7);
+            expected[i] = i;
+            expectedEqual[i] = 7;
+        }
+
+        SortUtils.quickSort(sorted);
+        SortUtils.quickSort(reversed, Comparator.naturalOrder());
+        SortUtils.quickSort(equal);
+        assertArrayEquals(expected, sorted.toArray());
+        assertArrayEquals(expected, reversed.toArray());
+        assertArrayEquals(expectedEqual, equal.toArray());
+    }
+
+    @Test
+    public void quickSortWithManyDuplicatesTest() {
+        Random random = new Random(7);
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        Integer[] expected = new Integer[50000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = random.nextInt(10);
+            list.add(expected[i]);
+        }
+        Arrays.sort(expected);
+
+        SortUtils.quickSort(list);
+        assertArrayEquals(expected, list.toArray());
+    }
+
+    @Test
+    public void quickSortOfListWithoutArrayAccessTest() {
+        CustomArrayList<Integer> list = new ConcurrentCustomArrayList<>();
+        Integer[] expected = fillRandom(list, 50000);
+        for (int i = 0; i < 50000; i++) {
+            list.add(i);
+        }
+        expected = Arrays.copyOf(expected, 100000);
+        for (int i = 0; i < 50000; i++) {
+            expected[50000 + i] = i;
+        }
+        Arrays.sort(expected);
+
+        SortUtils.quickSort(list);
+        assertArrayEquals(expected, list.toArray());
+    }
+
+    @Test
+    public void radixSortByIntKeyIsStableTest() {
+        CustomArrayList<Car> cars = new CustomArrayListImpl<>();
+        Car bmw = new Car("BMW");
+        Car audi = new Car("Audi");
+        Car lada = new Car("Lada");
+        Car volkswagen = new Car("Volkswagen");
+        Car citroen = new Car("Citroen");
+        cars.add(volkswagen);
+        cars.add(bmw);
+        cars.add(lada);
+        cars.add(audi);
+        cars.add(citroen);
+
+        SortUtils.radixSort(cars, (Car car) -> car.model().length());
+        assertArrayEquals(new Car[]{bmw, lada, audi, citroen, volkswagen}, cars.toArray());
+    }
+
+    @Test
+    public void radixSortWithSignedKeysTest() {
+        CustomArrayList<Integer> ints = new CustomArrayListImpl<>();
+        Integer[] expectedInts = fillRandom(ints, 10000);
+        Arrays.sort(expectedInts);
+        SortUtils.radixSort(ints, (Integer value) -> value);
+        assertArrayEquals(expectedInts, ints.toArray());
+
+        CustomArrayList<Long> longs = new CustomArrayListImpl<>();
+        Random random = new Random(3);
+        Long[] expectedLongs = new Long[10000];
+        for (int i = 0; i < expectedLongs.length; i++) {
+            expectedLongs[i] = random.nextLong();
+            longs.add(expectedLongs[i]);
+        }
+        longs.add(Long.MIN_VALUE);
+        Arrays.sort(expectedLongs);
+        SortUtils.radixSort(longs, (Long value) -> value);
+        assertEquals(Long.MIN_VALUE, longs.get(0));
+        for (int i = 0; i < expectedLongs.length; i++) {
+            assertEquals(expectedLongs[i], longs.get(i + 1));
+        }
+    }
+
+    @Test
+    public void selectFindsKthElementTest() {
+        for (CustomArrayList<Integer> list : List.of(new CustomArrayListImpl<Integer>(), new TieredCustomArrayList<Integer>(4))) {
+            Integer[] values = fillRandom(list, 5000);
+            Arrays.sort(values);
+            for (int k : new int[]{0, 1, 2500, 4998, 4999}) {
+                assertEquals(values[k], SortUtils.select(list, k, Comparator.naturalOrder()));
+                for (int i = 0; i < k; i++) {
+                    assertTrue(list.get(i) <= values[k]);
+                }
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> SortUtils.select(list, 5000, Comparator.naturalOrder()));
+        }
+    }
+
+    @Test
+    public void topKReturnsSmallestInOrderWithoutChangingSourceTest() {
+        CustomArrayList<Integer> list = new CustomArrayListImpl<>();
+        Integer[] values = fillRandom(list, 3000);
+        Object[] before = list.toArray();
+        CustomArrayList<Integer> top = SortUtils.topK(list, 100, Comparator.reverseOrder());
+        Arrays.sort(values, Comparator.reverseOrder());
+        assertArrayEquals(Arrays.copyOf(values, 100), top.toArray());
+        assertArrayEquals(before, list.toArray());
+
+        assertEquals(0, SortUtils.topK(list, 0, Comparator.naturalOrder()).size());
+        assertEquals(3000, SortUtils.topK(list, 5000, Comparator.naturalOrder()).size());
+        assertThrows(IllegalArgumentException.class, () -> SortUtils.topK(list, -1, Comparator.naturalOrder()));
+    }
+
+    @Test
+    public void partialSortOrdersPrefixTest() {
+        for (CustomArrayList<Integer> list : List.of(new CustomArrayListImpl<Integer>(), new TieredCustomArrayList<Integer>(4))) {
+            Integer[] values = fillRandom(list, 4000);
+            Arrays.sort(values);
+            SortUtils.partialSort(list, 150, Comparator.naturalOrder());
+            for (int i = 0; i < 150; i++) {
+                assertEquals(values[i], list.get(i));
+            }
+            SortUtils.partialSort(list, list.size(), Comparator.naturalOrder());
+            assertArrayEquals(values, list.toArray());
+        }
+    }
+
+    @Test
+    public void timSortIsStableOnVariousShapesTest() {
+        Random random = new Random(11);
+        Comparator<int[]> byKey = Comparator.comparingInt(pair -> pair[0]);
+        for (int size : new int[]{0, 1, 5, 31, 32, 100, 1000, 20000}) {
+            for (int shape = 0; shape < 4; shape++) {
+                int[][] pairs = new int[size][];
+                for (int i = 0; i < size; i++) {
+                    int key = switch (shape) {
+                        case 0 -> random.nextInt(size + 1);
+                        case 1 -> random.nextInt(8);
+                        case 2 -> size - i;
+                        default -> i < size - size / 20 ? i / 3 : random.nextInt(size + 1);
+                    };
+                    pairs[i] = new int[]{key, i};
+                }
+                int[][] expected = pairs.clone();
+                Arrays.sort(expected, byKey);
+                for (CustomArrayList<int[]> list : List.of(new CustomArrayListImpl<int[]>(), new TieredCustomArrayList<int[]>(5))) {
+                    list.addAll(pairs);
+                    SortUtils.timSort(list, byKey);
+                    assertEquals(size, list.size());
+                    for (int i = 0; i < size; i++) {
+                        assertSame(expected[i], list.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void timSortNaturalOrderTest() {
+        CustomArrayList<Integer> list = new TieredCustomArrayList<>(3);
+        Integer[] values = fillRandom(list, 3000);
+        SortUtils.timSort(list);
+        Arrays.sort(values);
+        assertArrayEquals(values, list.toArray());
+        assertThrows(IllegalArgumentException.class, () -> SortUtils.timSort(null));
+    }
+
+    @Test
+    public void sortByKeyExtractsEachKeyOnceAndIsStableTest() {
+        for (CustomArrayList<int[]> list : List.of(new CustomArrayListImpl<int[]>(), new TieredCustomArrayList<int[]>(4))) {
+            Random random = new Random(5);
+            int[][] pairs = new int[3000][];
+            for (int i = 0; i < pairs.length; i++) {
+                pairs[i] = new int[]{random.nextInt(200) - 100, i};
+            }
+            list.addAll(pairs);
+            int[] calls = new int[1];
+            SortUtils.sortByKey(list, pair -> {
+                calls[0]++;
+                return String.valueOf(pair[0]);
+            });
+            assertEquals(pairs.length, calls[0]);
+            int[][] expected = pairs.clone();
+            Arrays.sort(expected, Comparator.comparing(pair -> String.valueOf(pair[0])));
+            for (int i = 0; i < expected.length; i++) {
+                assertSame(expected[i], list.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void sortByPrimitiveKeysTest() {
+        Random random = new Random(9);
+        int[][] pairs = new int[2000][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new int[]{random.nextInt(50) - 25, i};
+        }
+        int[][] expected = pairs.clone();
+        Arrays.sort(expected, Comparator.comparingInt(pair -> pair[0]));
+
+        CustomArrayList<int[]> byInt = new CustomArrayListImpl<>();
+        byInt.addAll(pairs);
+        SortUtils.sortByIntKey(byInt, pair -> pair[0]);
+        CustomArrayList<int[]> byLong = new CustomArrayListImpl<>();
+        byLong.addAll(pairs);
+        SortUtils.sortByLongKey(byLong, pair -> pair[0] * 1_000_000_000_000L);
+        CustomArrayList<int[]> byDouble = new TieredCustomArrayList<>(4);
+        byDouble.addAll(pairs);
+        SortUtils.sortByDoubleKey(byDouble, pair -> pair[0] / 3.0);
+        for (int i = 0; i < expected.length; i++) {
+            assertSame(expected[i], byInt.get(i));
+            assertSame(expected[i], byLong.get(i));
+            assertSame(expected[i], byDouble.get(i));
+        }
+
+        CustomArrayList<Double> doubles = new CustomArrayListImpl<>();
+        doubles.addAll(new Double[]{Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY, 1.5, -2.5});
+        SortUtils.sortByDoubleKey(doubles, Double::doubleValue);
+        assertArrayEquals(new Object[]{Double.NEGATIVE_INFINITY, -2.5, -0.0, 0.0, 1.5, Double.NaN}, doubles.toArray());
+    }
+
+    @Test
+    public void sortsWithScratchPoolTest() {
+        ArrayPool pool = new ArrayPool();
+        SortUtils.setScratchPool(pool);
+        try {
+            for (int round = 0; round < 3; round++) {
+                Random random = new Random(round);
+                Integer[] values = new Integer[3000 + round * 100];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = random.nextInt(500) - 250;
+                }
+                Integer[] expected = values.clone();
+                Arrays.sort(expected);
+
+                CustomArrayList<Integer> radix = new CustomArrayListImpl<>();
+                radix.addAll(values);
+                SortUtils.radixSort(radix, (Integer value) -> value);
+                CustomArrayList<Integer> byKey = new TieredCustomArrayList<>(5);
+                byKey.addAll(values);
+                SortUtils.sortByKey(byKey, value -> value);
+                CustomArrayList<Integer> byIntKey = new CustomArrayListImpl<>();
+                byIntKey.addAll(values);
+                SortUtils.sortByIntKey(byIntKey, value -> value);
+                CustomArrayList<Integer> tim = new CustomArrayListImpl<>();
+                tim.addAll(values);
+                SortUtils.timSort(tim);
+                assertArrayEquals(expected, radix.toArray());
+                assertArrayEquals(expected, byKey.toArray());
+                assertArrayEquals(expected, byIntKey.toArray());
+                assertArrayEquals(expected, tim.toArray());
+            }
+            assertTrue(pool.pooledArrays() > 0);
+        } finally {
+            SortUtils.setScratchPool(null);
+        }
+    }
+
+    private static Integer[] fillRandom(CustomArrayList<Integer> list, int size) {
+        Random random = new Random(42);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+            list.add(values[i]);
+        }
+        return values;
+    }
 }
@@ -0,0 +1,103 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedCustomArrayListTest {
+
+    @Test
+    public void addKeepsElementsOrderedTest() {
+        SortedCustomArrayList<Integer> list = new SortedCustomArrayList<>(Comparator.naturalOrder());
+        Random random = new Random(7);
+        for (int i = 0; i < 500; i++) {
+            list.add(random.nextInt(100));
+        }
+        assertEquals(500, list.size());
+        assertSorted(list);
+    }
+
+    @Test
+    public void equalElementsKeepInsertionOrderTest() {
+        SortedCustomArrayList<String> list = new SortedCustomArrayList<>(Comparator.comparingInt(String::length));
+        list.add("bb");
+        list.add("a");
+        list.add("cc");
+        list.addAllSorted(new String[]{"dd", "e"});
+        assertArrayEquals(new Object[]{"a", "e", "bb", "cc", "dd"}, list.toArray());
+    }
+
+    @Test
+    public void addAllSortedMergesBatchTest() {
+        SortedCustomArrayList<Integer> list = new SortedCustomArrayList<>(Comparator.naturalOrder(), 0);
+        list.addAllSorted(new Integer[]{5, 1, 3});
+        CustomArrayList<Integer> batch = new CustomArrayListImpl<>();
+        batch.add(6);
+        batch.add(0);
+        batch.add(4);
+        batch.add(2);
+        list.addAllSorted(batch);
+        list.addAll(new Integer[]{7});
+        assertArrayEquals(new Object[]{0, 1, 2, 3, 4, 5, 6, 7}, list.toArray());
+    }
+
+    @Test
+    public void binarySearchFloorAndCeilingTest() {
+        SortedCustomArrayList<Integer> list = new SortedCustomArrayList<>(Comparator.naturalOrder());
+        list.addAllSorted(new Integer[]{10, 20, 20, 30});
+        assertEquals(1, list.binarySearch(20));
+        assertEquals(-1, list.binarySearch(5));
+        assertEquals(-4, list.binarySearch(25));
+        assertEquals(-5, list.binarySearch(35));
+        assertEquals(20, list.floor(25));
+        assertEquals(20, list.floor(20));
+        assertNull(list.floor(5));
+        assertEquals(30, list.ceiling(25));
+        assertNull(list.ceiling(31));
+    }
+
+    @Test
+    public void rangeViewReflectsBoundsTest() {
+        SortedCustomArrayList<Integer> list = new SortedCustomArrayList<>(Comparator.naturalOrder());
+        list.addAllSorted(new Integer[]{1, 2, 3, 4, 5, 6});
+        CustomArrayList<Integer> view = list.rangeView(2, 5);
+        assertArrayEquals(new Object[]{2, 3, 4}, view.toArray());
+        assertEquals(3, view.get(1));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(3));
+        assertThrows(IllegalArgumentException.class, () -> list.rangeView(5, 2));
+
+        list.add(0);
+        assertThrows(ConcurrentModificationException.class, view::size);
+    }
+
+    @Test
+    public void orderBreakingOperationsAreUnsupportedTest() {
+        SortedCustomArrayList<Integer> list = new SortedCustomArrayList<>(Comparator.naturalOrder());
+        list.add(1);
+        assertThrows(UnsupportedOperationException.class, () -> list.add(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> list.sort(Comparator.reverseOrder()));
+        assertThrows(IllegalArgumentException.class, () -> new SortedCustomArrayList<Integer>(null));
+    }
+
+    @Test
+    public void removeKeepsOrderTest() {
+        SortedCustomArrayList<Integer> list = new SortedCustomArrayList<>(Comparator.naturalOrder());
+        list.addAllSorted(new Integer[]{4, 3, 2, 1});
+        assertEquals(2, list.remove(1));
+        list.removeRange(0, 1);
+        assertArrayEquals(new Object[]{3, 4}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(2));
+    }
+
+    private static void assertSorted(CustomArrayList<Integer> list) {
+        for (int i = 1; i < list.size(); i++) {
+            assertTrue(list.get(i - 1) <= list.get(i));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.aston.trainee;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredCustomArrayListTest {
+
+    private final TieredCustomArrayList<Integer> customArrayList = new TieredCustomArrayList<>(3);
+
+    @Test
+    public void randomInsertsAndRemovesMatchArrayListTest() {
+        assertRandomOperationsMatchArrayList(customArrayList, 11);
+    }
+
+    @Test
+    public void lastBlockGrowsToFullSizeTest() {
+        assertRandomOperationsMatchArrayList(new TieredCustomArrayList<>(6), 13);
+        TieredCustomArrayList<Integer> list = new TieredCustomArrayList<>(20);
+        list.add(1);
+        list.add(0, 0);
+        assertArrayEquals(new Integer[]{0, 1}, list.toArray());
+        assertThrows(IllegalArgumentException.class, () -> new TieredCustomArrayList<>(21));
+    }
+
+    @Test
+    public void incorrectIndexThrowsIndexOutOfBoundsExceptionTest() {
+        customArrayList.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.add(1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> customArrayList.remove(-1));
+    }
+
+    @Test
+    public void sortSetAndClearTest() {
+        for (int i = 50; i > 0; i--) {
+            customArrayList.add(i);
+        }
+        customArrayList.sort();
+        assertEquals(1, customArrayList.get(0));
+        assertEquals(50, customArrayList.get(49));
+        customArrayList.set(0, 100);
+        customArrayList.sort(Comparator.reverseOrder());
+        assertEquals(100, customArrayList.get(0));
+        customArrayList.clear();
+        assertEquals(0, customArrayList.size());
+    }
+
+    private void assertRandomOperationsMatchArrayList(TieredCustomArrayList<Integer> list, long seed) {
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(seed);
+        for (int i = 0; i < 5000; i++) {
+            int operation = random.nextInt(4);
+            if (expected.isEmpty() || operation == 0) {
+                list.add(i);
+                expected.add(i);
+            } else if (operation == 1 || operation == 2) {
+                int index = random.nextInt(expected.size());
+                Integer element = random.nextBoolean() ? i : null;
+                list.add(index, element);
+                expected.add(index, element);
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        assertArrayEquals(expected.toArray(), list.toArray());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+}